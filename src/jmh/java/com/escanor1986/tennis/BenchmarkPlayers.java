@@ -0,0 +1,41 @@
+package com.escanor1986.tennis;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.escanor1986.tennis.data.PlayerEntity;
+
+/**
+ * Jeux de données des benchmarks : joueurs générés avec une graine fixe pour que deux exécutions soient comparables
+ */
+public final class BenchmarkPlayers {
+
+    private static final long SEED = 1986L;
+
+    private BenchmarkPlayers() {
+    }
+
+    /**
+     * @param size : nombre de joueurs
+     *
+     * @return : retourne des joueurs classés (rank de 1 à size) mais dans un ordre aléatoire, comme renvoyés par findAll()
+     */
+    public static List<PlayerEntity> shuffled(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<PlayerEntity> players = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            players.add(new PlayerEntity(
+                    (long) i + 1,
+                    "LastName" + i,
+                    "FirstName" + i,
+                    LocalDate.of(1980, 1, 1).plusDays(random.nextInt(10_000)),
+                    random.nextInt(12_000),
+                    i + 1));
+        }
+        Collections.shuffle(players, new java.util.Random(SEED));
+        return players;
+    }
+}
@@ -0,0 +1,64 @@
+package com.escanor1986.tennis.service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.escanor1986.tennis.BenchmarkPlayers;
+import com.escanor1986.tennis.data.PlayerEntity;
+import com.escanor1986.tennis.model.Player;
+
+/**
+ * Conversion des entités en Player pour la liste complète des joueurs
+ * - mapAndSort : conversion puis tri par position, comme getAllPlayers le faisait sur le résultat de findAll()
+ * - map : conversion seule, les joueurs arrivant déjà triés par la base (reconstruction du Leaderboard)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PlayerMappingBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int size;
+
+    private List<PlayerEntity> shuffledPlayers;
+    private List<PlayerEntity> rankedPlayers;
+
+    @Setup
+    public void setUp() {
+        shuffledPlayers = BenchmarkPlayers.shuffled(size);
+        rankedPlayers = shuffledPlayers.stream()
+                .sorted(Comparator.comparing(PlayerEntity::getRank))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Player> mapAndSort() {
+        return shuffledPlayers.stream()
+                .map(PlayerService::toPlayer)
+                .sorted(Comparator.comparing(player -> player.rank().position()))
+                .toList();
+    }
+
+    @Benchmark
+    public List<Player> map() {
+        return rankedPlayers.stream()
+                .map(PlayerService::toPlayer)
+                .toList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.escanor1986.tennis.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.escanor1986.tennis.BenchmarkPlayers;
+import com.escanor1986.tennis.model.Player;
+
+/**
+ * Autocomplétion sur l'index des noms du classement en mémoire
+ * - search : recherche des 10 premiers joueurs pour un préfixe (GET /players/search)
+ * - updated : copie de l'index après la modification d'un joueur, payée à chaque écriture
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PlayerNameIndexBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int size;
+
+    private PlayerNameIndex index;
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        List<Player> players = BenchmarkPlayers.shuffled(size).stream()
+                .map(PlayerService::toPlayer)
+                .toList();
+        index = PlayerNameIndex.of(players);
+        player = players.get(0);
+    }
+
+    @Benchmark
+    public List<String> search() {
+        return index.search("lastname12", 10);
+    }
+
+    @Benchmark
+    public PlayerNameIndex updated() {
+        return index.updated(player, new Player("Renamed", player.lastName(), player.birthDate(), player.rank()));
+    }
+}
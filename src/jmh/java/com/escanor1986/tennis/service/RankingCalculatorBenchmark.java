@@ -0,0 +1,48 @@
+package com.escanor1986.tennis.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.escanor1986.tennis.BenchmarkPlayers;
+import com.escanor1986.tennis.data.PlayerEntity;
+
+/**
+ * Recalcul complet du classement en mémoire (tri par points puis attribution des positions)
+ * ! La liste est copiée à chaque appel car le calcul la trie sur place
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RankingCalculatorBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int size;
+
+    private List<PlayerEntity> players;
+
+    @Setup
+    public void setUp() {
+        players = BenchmarkPlayers.shuffled(size);
+    }
+
+    @Benchmark
+    public List<PlayerEntity> getNewPlayersRanking() {
+        return new RankingCalculator(new ArrayList<>(players)).getNewPlayersRanking();
+    }
+}
@@ -0,0 +1,104 @@
+package com.escanor1986.tennis.web;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.escanor1986.tennis.BenchmarkPlayers;
+import com.escanor1986.tennis.data.PlayerEntity;
+import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.Rank;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Encodage et décodage de la liste complète des joueurs dans chacun des formats servis par GET /players
+ * - json : ObjectMapper sans Blackbird (accès aux records par réflexion)
+ * - json-blackbird, cbor, smile : ObjectMapper configuré comme celui de l'application (PlayerMediaTypesConfiguration)
+ * - binary : PlayerListBinaryHttpMessageConverter
+ *
+ * La taille du corps de réponse de chaque format est affichée au démarrage de chaque essai
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PlayerFormatBenchmark {
+
+    private static final TypeReference<List<Player>> PLAYER_LIST = new TypeReference<>() { };
+
+    @Param({ "1000", "100000", "1000000" })
+    private int size;
+
+    @Param({ "json", "json-blackbird", "cbor", "smile", "binary" })
+    private String format;
+
+    private List<Player> players;
+    private byte[] payload;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() throws IOException {
+        players = BenchmarkPlayers.shuffled(size).stream()
+                .sorted(Comparator.comparing(PlayerEntity::getRank))
+                .map(player -> new Player(player.getFirstName(), player.getLastName(), player.getBirthDate(),
+                        new Rank(player.getRank(), player.getPoints())))
+                .toList();
+        ObjectMapper mapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "json-blackbird" -> Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).factory(new SmileFactory()).build();
+            default -> null;
+        };
+        if (mapper != null) {
+            writer = mapper.writerFor(PLAYER_LIST);
+            reader = mapper.readerFor(PLAYER_LIST);
+        }
+        payload = encode();
+        System.out.printf("%n%s, %d joueurs : %d octets (%.1f octets par joueur)%n",
+                format, size, payload.length, (double) payload.length / size);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        if (writer != null) {
+            return writer.writeValueAsBytes(players);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size * 32);
+        PlayerListBinaryHttpMessageConverter.write(players, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<Player> decode() throws IOException {
+        if (reader != null) {
+            return reader.readValue(payload);
+        }
+        return PlayerListBinaryHttpMessageConverter.read(new ByteArrayInputStream(payload));
+    }
+}
@@ -0,0 +1,59 @@
+package com.escanor1986.tennis.web;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.escanor1986.tennis.BenchmarkPlayers;
+import com.escanor1986.tennis.data.PlayerEntity;
+import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.Rank;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Sérialisation JSON de la liste complète des joueurs (corps de GET /players)
+ * L'ObjectMapper est construit comme celui de Spring MVC (modules java.time, dates ISO)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PlayerSerializationBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    private int size;
+
+    private List<Player> players;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        players = BenchmarkPlayers.shuffled(size).stream()
+                .sorted(Comparator.comparing(PlayerEntity::getRank))
+                .map(player -> new Player(player.getFirstName(), player.getLastName(), player.getBirthDate(),
+                        new Rank(player.getRank(), player.getPoints())))
+                .toList();
+        writer = Jackson2ObjectMapperBuilder.json().build().writerFor(List.class);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(players);
+    }
+}
@@ -0,0 +1,76 @@
+package com.escanor1986.tennis.data;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "match_result", schema = "public")
+public class MatchResultEntity {
+
+    // Même allocation par blocs que PlayerEntity : une journée de tournoi est insérée en batch JDBC
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_result_id_generator")
+    @SequenceGenerator(name = "match_result_id_generator", sequenceName = "match_result_id_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "winner_id", nullable = false)
+    private PlayerEntity winner;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "loser_id", nullable = false)
+    private PlayerEntity loser;
+
+    @Column(name = "played_on", nullable = false)
+    private LocalDate playedOn;
+
+    // Points gagnés par le vainqueur, et perdus par le perdant dans la limite de ses points
+    @Column(name = "rating_change", nullable = false)
+    private Integer ratingChange;
+
+    @Column(name = "winner_points", nullable = false)
+    private Integer winnerPoints;
+
+    @Column(name = "loser_points", nullable = false)
+    private Integer loserPoints;
+
+    public MatchResultEntity() {
+    }
+
+    public MatchResultEntity(PlayerEntity winner, PlayerEntity loser, LocalDate playedOn, Integer ratingChange, Integer winnerPoints, Integer loserPoints) {
+        this.winner = winner;
+        this.loser = loser;
+        this.playedOn = playedOn;
+        this.ratingChange = ratingChange;
+        this.winnerPoints = winnerPoints;
+        this.loserPoints = loserPoints;
+    }
+
+    public Long getId() { return id; }
+
+    public PlayerEntity getWinner() {
+        return winner;
+    }
+
+    public PlayerEntity getLoser() {
+        return loser;
+    }
+
+    public LocalDate getPlayedOn() {
+        return playedOn;
+    }
+
+    public Integer getRatingChange() {
+        return ratingChange;
+    }
+
+    public Integer getWinnerPoints() {
+        return winnerPoints;
+    }
+
+    public Integer getLoserPoints() {
+        return loserPoints;
+    }
+}
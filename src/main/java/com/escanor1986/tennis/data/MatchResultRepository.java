@@ -0,0 +1,9 @@
+package com.escanor1986.tennis.data;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+// Résultats des matchs, insérés en batch JDBC par MatchService
+@Repository
+public interface MatchResultRepository extends JpaRepository<MatchResultEntity, Long> {
+}
@@ -0,0 +1,34 @@
+package com.escanor1986.tennis.data;
+
+import org.flywaydb.core.api.callback.BaseCallback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Callback Flyway enregistré automatiquement par Spring Boot.
+ * Après un migrate ou un clean, il publie un PlayerTableReloadedEvent pour invalider les caches en mémoire.
+ *
+ * ! On passe par un événement plutôt que d'injecter les services directement :
+ * ! Flyway est initialisé avant JPA et une injection directe créerait une dépendance circulaire
+ */
+@Component
+public class PlayerDataMigrationCallback extends BaseCallback {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PlayerDataMigrationCallback(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_MIGRATE || event == Event.AFTER_CLEAN;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        eventPublisher.publishEvent(new PlayerTableReloadedEvent());
+    }
+}
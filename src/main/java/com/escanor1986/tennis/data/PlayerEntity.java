@@ -8,8 +8,11 @@ import java.time.LocalDate;
 @Table(name = "player", schema = "public")
 public class PlayerEntity {
 
+    // Séquence avec allocation par blocs : l'identifiant est connu sans insertion,
+    // ce qui permet à Hibernate de regrouper les INSERT en batch JDBC (impossible avec IDENTITY)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_id_generator")
+    @SequenceGenerator(name = "player_id_generator", sequenceName = "player_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
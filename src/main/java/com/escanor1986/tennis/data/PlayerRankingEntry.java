@@ -0,0 +1,8 @@
+package com.escanor1986.tennis.data;
+
+/**
+ * Projection légère d'un joueur utilisée pour reconstruire le classement en mémoire
+ * sans charger d'entités gérées par Hibernate.
+ */
+public record PlayerRankingEntry(Long id, Integer points, Integer rank) {
+}
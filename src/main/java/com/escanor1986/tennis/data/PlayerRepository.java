@@ -1,10 +1,22 @@
 package com.escanor1986.tennis.data;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 // Long : type de la clé primaire
 // PlayerEntity : type de l'entité
 // JpaRepository<PlayerEntity, Long> : interface qui permet de faire des opérations en base de données
@@ -12,8 +24,84 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface PlayerRepository extends JpaRepository<PlayerEntity, Long> {
 
-  // Query méthode de Spring Data pour retrouver un joueur par son nom de famille
-  // findOneByLastNameIgnoreCase : nom de la méthode, elle est générée automatiquement et permet de retrouver un joueur par son nom de famille
+  int STREAM_FETCH_SIZE = 500;
+
+  // Retrouve un joueur par son nom de famille sans tenir compte de la casse
+  // ! La requête est écrite explicitement pour que upper(last_name) corresponde à l'index player_last_name_upper_key (V005)
   // Optional<PlayerEntity> : type de retour de la méthode
-  Optional<PlayerEntity> findOneByLastNameIgnoreCase(String lastName);
+  @Query("select p from PlayerEntity p where upper(p.lastName) = upper(:lastName)")
+  Optional<PlayerEntity> findOneByLastNameIgnoreCase(@Param("lastName") String lastName);
+
+  // Parmi les noms fournis (en majuscules), retourne ceux qui existent déjà en base, via l'index sur upper(last_name)
+  @Query("select upper(p.lastName) from PlayerEntity p where upper(p.lastName) in :lastNames")
+  List<String> findExistingLastNames(@Param("lastNames") Collection<String> lastNames);
+
+  // Charge en une requête les joueurs dont le nom (en majuscules) fait partie de la liste, via l'index sur upper(last_name)
+  @Query("select p from PlayerEntity p where upper(p.lastName) in :lastNames")
+  List<PlayerEntity> findAllByUpperLastNameIn(@Param("lastNames") Collection<String> lastNames);
+
+  // Parcourt tous les joueurs dans l'ordre du classement sans les charger en une seule liste
+  // Projection PlayerView : aucune entité gérée, Hibernate ne conserve pas de copie pour le dirty checking
+  // HINT_FETCH_SIZE : le driver JDBC ne ramène que STREAM_FETCH_SIZE lignes à la fois (sous PostgreSQL, uniquement dans une transaction)
+  // ! Le Stream doit être consommé puis fermé dans une transaction
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+  @Query("select new com.escanor1986.tennis.data.PlayerView(p.id, p.firstName, p.lastName, p.birthDate, p.points, p.rank) from PlayerEntity p order by p.rank asc, p.id asc")
+  Stream<PlayerView> streamAllViewsByRank();
+
+  // Pagination par curseur (keyset) : les joueurs classés après (rank, id), dans l'ordre du classement
+  // Limit : nombre maximum de lignes lues, la requête ne parcourt jamais toute la table
+  // La comparaison de tuples (rank, id) permet un simple parcours de l'index player_rank_id_idx à partir du curseur
+  @Query("select new com.escanor1986.tennis.data.PlayerView(p.id, p.firstName, p.lastName, p.birthDate, p.points, p.rank) from PlayerEntity p where (p.rank, p.id) > (:rank, :id) order by p.rank asc, p.id asc")
+  List<PlayerView> findViewsRankedAfter(@Param("rank") int rank, @Param("id") long id, Limit limit);
+
+  // Joueurs classés entre fromRank et toRank inclus, après le curseur (afterRank, afterId) :
+  // parcours de l'index player_rank_id_idx sur la seule plage demandée
+  @Query("select new com.escanor1986.tennis.data.PlayerView(p.id, p.firstName, p.lastName, p.birthDate, p.points, p.rank) from PlayerEntity p where p.rank between :fromRank and :toRank and (p.rank, p.id) > (:afterRank, :afterId) order by p.rank asc, p.id asc")
+  List<PlayerView> findViewsByRankBetween(@Param("fromRank") int fromRank, @Param("toRank") int toRank,
+      @Param("afterRank") int afterRank, @Param("afterId") long afterId, Limit limit);
+
+  // Joueurs dont les points sont entre minPoints et maxPoints inclus, dans l'ordre du classement
+  // L'ordre (points décroissants, id) est celui de l'index player_points_id_idx (V009) : aucun tri après lecture
+  // Le curseur (afterPoints, afterId) suit le même ordre : moins de points, ou autant de points et un id supérieur
+  @Query("select new com.escanor1986.tennis.data.PlayerView(p.id, p.firstName, p.lastName, p.birthDate, p.points, p.rank) from PlayerEntity p where p.points between :minPoints and :maxPoints and (p.points < :afterPoints or (p.points = :afterPoints and p.id > :afterId)) order by p.points desc, p.id asc")
+  List<PlayerView> findViewsByPointsBetween(@Param("minPoints") int minPoints, @Param("maxPoints") int maxPoints,
+      @Param("afterPoints") int afterPoints, @Param("afterId") long afterId, Limit limit);
+
+  // Récupère uniquement (id, points, rank) dans l'ordre du classement pour construire l'index en mémoire
+  @Query("select new com.escanor1986.tennis.data.PlayerRankingEntry(p.id, p.points, p.rank) from PlayerEntity p order by p.points desc, p.id asc")
+  List<PlayerRankingEntry> findAllRankingEntries();
+
+  // Récupère (id, points, rank) dans l'ordre des identifiants pour enregistrer une photographie de l'historique
+  @Query("select new com.escanor1986.tennis.data.PlayerRankingEntry(p.id, p.points, p.rank) from PlayerEntity p order by p.id asc")
+  List<PlayerRankingEntry> findAllRankingEntriesById();
+
+  // Décale d'un delta le classement des joueurs situés dans l'intervalle [fromRank, toRank] en une seule requête
+  // excludedId : joueur en cours de modification, dont le classement est positionné par le service
+  // flushAutomatically : les modifications en attente (insert, delete) sont envoyées avant la mise à jour en masse
+  @Modifying(flushAutomatically = true)
+  @Query("update PlayerEntity p set p.rank = p.rank + :delta where p.rank between :fromRank and :toRank and p.id <> :excludedId")
+  int shiftRanks(@Param("fromRank") int fromRank, @Param("toRank") int toRank, @Param("delta") int delta, @Param("excludedId") Long excludedId);
+
+  // Recalcule tout le classement en une seule requête ensembliste (PostgreSQL et H2 en mode PostgreSQL)
+  // row_number() attribue les positions par points décroissants puis par id, seules les lignes dont le classement change sont écrites
+  // ! Les entités déjà chargées dans le contexte de persistance ne sont pas rafraîchies
+  @Modifying(flushAutomatically = true)
+  @Query(value = """
+          update player set rank = ranked.new_rank
+          from (select id, row_number() over (order by points desc, id) as new_rank from player) ranked
+          where player.id = ranked.id and player.rank <> ranked.new_rank
+          """, nativeQuery = true)
+  int reRank();
+
+  // Recalcule le classement des seuls joueurs classés entre fromRank et toRank, numérotés à partir de fromRank
+  // La plage est lue par l'index player_rank_id_idx : le reste de la table n'est ni parcouru ni trié
+  // ! Les joueurs hors de la plage doivent déjà être à leur position, et les joueurs modifiés avoir leur position finale
+  @Modifying(flushAutomatically = true)
+  @Query(value = """
+          update player set rank = ranked.new_rank
+          from (select id, :fromRank - 1 + row_number() over (order by points desc, id) as new_rank
+                from player where rank between :fromRank and :toRank) ranked
+          where player.id = ranked.id and player.rank <> ranked.new_rank
+          """, nativeQuery = true)
+  int reRankBetween(@Param("fromRank") int fromRank, @Param("toRank") int toRank);
 }
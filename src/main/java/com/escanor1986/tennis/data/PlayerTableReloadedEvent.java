@@ -0,0 +1,8 @@
+package com.escanor1986.tennis.data;
+
+/**
+ * Événement publié lorsque le contenu de la table player a été modifié en dehors de l'application
+ * (migration ou nettoyage Flyway). Les structures en mémoire doivent alors être reconstruites.
+ */
+public record PlayerTableReloadedEvent() {
+}
@@ -0,0 +1,10 @@
+package com.escanor1986.tennis.data;
+
+import java.time.LocalDate;
+
+/**
+ * Projection en lecture seule d'un joueur, remplie directement par la requête (expression constructeur)
+ * Hibernate ne gère ni ne surveille ces objets : aucune copie pour le dirty checking, aucun contexte de persistance à vider.
+ */
+public record PlayerView(Long id, String firstName, String lastName, LocalDate birthDate, Integer points, Integer rank) {
+}
@@ -0,0 +1,48 @@
+package com.escanor1986.tennis.data;
+
+import jakarta.persistence.*;
+
+// Paquet d'une photographie : joueurs dont l'identifiant est dans la plage du paquet (bucket), encodés par RankingDeltaCodec
+@Entity
+@Table(name = "ranking_snapshot_chunk", schema = "public")
+public class RankingSnapshotChunkEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ranking_snapshot_chunk_id_generator")
+    @SequenceGenerator(name = "ranking_snapshot_chunk_id_generator", sequenceName = "ranking_snapshot_chunk_id_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    // Simple identifiant plutôt qu'une relation : les paquets sont lus sans jamais charger la photographie
+    @Column(name = "snapshot_id", nullable = false)
+    private Long snapshotId;
+
+    @Column(name = "bucket", nullable = false)
+    private Integer bucket;
+
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+
+    public RankingSnapshotChunkEntity() {
+    }
+
+    public RankingSnapshotChunkEntity(Long snapshotId, Integer bucket, byte[] data) {
+        this.snapshotId = snapshotId;
+        this.bucket = bucket;
+        this.data = data;
+    }
+
+    public Long getId() { return id; }
+
+    public Long getSnapshotId() {
+        return snapshotId;
+    }
+
+    public Integer getBucket() {
+        return bucket;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+}
@@ -0,0 +1,16 @@
+package com.escanor1986.tennis.data;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+// Paquets des photographies du classement
+@Repository
+public interface RankingSnapshotChunkRepository extends JpaRepository<RankingSnapshotChunkEntity, Long> {
+
+  // Paquets d'une plage d'identifiants de joueurs sur une période : parcours de l'index (bucket, snapshot_id)
+  List<RankingSnapshotChunkEntity> findAllByBucketAndSnapshotIdBetweenOrderBySnapshotIdAsc(Integer bucket, Long fromSnapshotId, Long toSnapshotId);
+
+  List<RankingSnapshotChunkEntity> findAllBySnapshotIdGreaterThanEqualOrderBySnapshotIdAscBucketAsc(Long snapshotId);
+}
@@ -0,0 +1,51 @@
+package com.escanor1986.tennis.data;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Photographie du classement : les classements eux-mêmes sont dans les paquets RankingSnapshotChunkEntity
+@Entity
+@Table(name = "ranking_snapshot", schema = "public")
+public class RankingSnapshotEntity {
+
+    // Identifiants croissants dans l'ordre des photographies : l'historique est rejoué dans l'ordre des identifiants
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ranking_snapshot_id_generator")
+    @SequenceGenerator(name = "ranking_snapshot_id_generator", sequenceName = "ranking_snapshot_id_seq", allocationSize = 1)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "taken_at", nullable = false)
+    private Instant takenAt;
+
+    // Photographie complète : l'historique peut être rejoué à partir d'elle sans lire les précédentes
+    @Column(name = "keyframe", nullable = false)
+    private boolean keyframe;
+
+    @Column(name = "player_count", nullable = false)
+    private Integer playerCount;
+
+    public RankingSnapshotEntity() {
+    }
+
+    public RankingSnapshotEntity(Instant takenAt, boolean keyframe, Integer playerCount) {
+        this.takenAt = takenAt;
+        this.keyframe = keyframe;
+        this.playerCount = playerCount;
+    }
+
+    public Long getId() { return id; }
+
+    public Instant getTakenAt() {
+        return takenAt;
+    }
+
+    public boolean isKeyframe() {
+        return keyframe;
+    }
+
+    public Integer getPlayerCount() {
+        return playerCount;
+    }
+}
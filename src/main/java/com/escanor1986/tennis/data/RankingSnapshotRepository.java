@@ -0,0 +1,26 @@
+package com.escanor1986.tennis.data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+// Photographies du classement, dans l'ordre de leurs identifiants (ordre chronologique)
+@Repository
+public interface RankingSnapshotRepository extends JpaRepository<RankingSnapshotEntity, Long> {
+
+  // Dernière photographie complète prise au plus tard à la date donnée : point de départ du rejeu
+  Optional<RankingSnapshotEntity> findFirstByKeyframeTrueAndTakenAtLessThanEqualOrderByIdDesc(Instant takenAt);
+
+  // Première photographie complète, pour une période qui commence avant le début de l'historique
+  Optional<RankingSnapshotEntity> findFirstByKeyframeTrueOrderByIdAsc();
+
+  // Dernière photographie complète, point de départ pour reconstruire l'état de la dernière photographie
+  Optional<RankingSnapshotEntity> findFirstByKeyframeTrueOrderByIdDesc();
+
+  List<RankingSnapshotEntity> findAllByIdGreaterThanEqualAndTakenAtLessThanEqualOrderByIdAsc(Long id, Instant takenAt);
+
+  List<RankingSnapshotEntity> findAllByIdGreaterThanEqualOrderByIdAsc(Long id);
+}
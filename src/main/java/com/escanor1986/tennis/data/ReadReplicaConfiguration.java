@@ -0,0 +1,77 @@
+package com.escanor1986.tennis.data;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Réplique en lecture (tennis.datasource.replica.enabled=true)
+ * Deux pools Hikari, primaire (spring.datasource.*) et réplique (tennis.datasource.replica.*), derrière une seule
+ * source de données : ReadWriteRoutingDataSource, utilisée par JPA, Flyway et les repositories.
+ *
+ * Lectures envoyées à la réplique : transactions en lecture seule, dont la reconstruction du classement en mémoire
+ * (qui sert getAllPlayers et getByLastName), la pagination et les plages de PlayerService, et les recherches d'utilisateurs
+ * d'EscanorUserDetailsService. Les écritures et le recalcul du classement (RankingEngine) restent sur le primaire.
+ *
+ * ! Les pools sont déclarés en HikariDataSource : spring.datasource.hikari.* s'applique au primaire,
+ * ! et en mode threads virtuels chaque pool est limité par ConcurrencyLimitedDataSource
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tennis.datasource.replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReadReplicaConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaConfiguration.class);
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ReplicaProperties properties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.url())
+                .username(properties.username())
+                .password(properties.password())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(properties.maximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicationLagTracker replicationLagTracker(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaProperties properties, MeterRegistry meterRegistry) {
+        return new ReplicationLagTracker(primary, replica, properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicationLagTracker replicationLagTracker,
+            ReplicaProperties properties, MeterRegistry meterRegistry) {
+        log.info("Réplique en lecture activée : {}, retard vérifié au plus toutes les {} ms",
+                properties.url(), properties.lagCheckInterval().toMillis());
+        return new ReadWriteRoutingDataSource(primary, replica, replicationLagTracker, meterRegistry);
+    }
+}
@@ -0,0 +1,135 @@
+package com.escanor1986.tennis.data;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Source de données de l'application quand une réplique en lecture est configurée
+ * - transactions en lecture seule (@Transactional(readOnly = true), TransactionTemplate en lecture seule) : réplique,
+ *   si elle a rejoué toutes les écritures validées (ReplicationLagTracker), sinon primaire
+ * - transactions d'écriture, recalcul du classement, connexions hors transaction (Flyway) : primaire
+ *
+ * La connexion physique n'est prise qu'à la première requête SQL : le gestionnaire de transactions l'a déjà
+ * marquée en lecture seule (setReadOnly), ce qui choisit la source.
+ * Chaque transaction d'écriture validée sur le primaire est signalée au ReplicationLagTracker.
+ *
+ * Métrique : tennis.datasource.routing (compteur des transactions en lecture seule, tag target=replica|primary)
+ *
+ * @param primary : pool du primaire
+ * @param replica : pool de la réplique
+ * @param lagTracker : retard de la réplique sur le primaire
+ * @param meterRegistry : registre Micrometer
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    public static final String ROUTING_COUNTER = "tennis.datasource.routing";
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicationLagTracker lagTracker,
+            MeterRegistry meterRegistry) {
+        super(new CommitTrackingDataSource(primary, lagTracker));
+        setReadOnlyDataSource(new ReadOnlyDataSource(primary, replica, lagTracker, meterRegistry));
+    }
+
+    // Écritures : signale le commit de la transaction au ReplicationLagTracker
+    private static final class CommitTrackingDataSource extends DelegatingDataSource {
+
+        private final ReplicationLagTracker lagTracker;
+
+        private CommitTrackingDataSource(DataSource primary, ReplicationLagTracker lagTracker) {
+            super(primary);
+            this.lagTracker = lagTracker;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            trackCommit();
+            return connection;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            Connection connection = super.getConnection(username, password);
+            trackCommit();
+            return connection;
+        }
+
+        // Une seule synchronisation par transaction (ressource liée au thread jusqu'à la fin de la transaction)
+        // Hors transaction, la connexion est en auto-commit : l'écriture éventuelle est signalée immédiatement
+        private void trackCommit() {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                lagTracker.primaryCommitted();
+                return;
+            }
+            if (TransactionSynchronizationManager.hasResource(this)) {
+                return;
+            }
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lagTracker.primaryCommitted();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CommitTrackingDataSource.this);
+                }
+            });
+        }
+    }
+
+    // Lectures : réplique si elle est à jour, primaire sinon
+    private static final class ReadOnlyDataSource extends DelegatingDataSource {
+
+        private final DataSource primary;
+        private final ReplicationLagTracker lagTracker;
+        private final Counter replicaReads;
+        private final Counter primaryReads;
+
+        private ReadOnlyDataSource(DataSource primary, DataSource replica, ReplicationLagTracker lagTracker,
+                MeterRegistry meterRegistry) {
+            super(replica);
+            this.primary = primary;
+            this.lagTracker = lagTracker;
+            this.replicaReads = Counter.builder(ROUTING_COUNTER)
+                    .description("Transactions en lecture seule, par source de données")
+                    .tag("target", "replica")
+                    .register(meterRegistry);
+            this.primaryReads = Counter.builder(ROUTING_COUNTER)
+                    .description("Transactions en lecture seule, par source de données")
+                    .tag("target", "primary")
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (lagTracker.replicaCaughtUp()) {
+                replicaReads.increment();
+                return super.getConnection();
+            }
+            primaryReads.increment();
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            if (lagTracker.replicaCaughtUp()) {
+                replicaReads.increment();
+                return super.getConnection(username, password);
+            }
+            primaryReads.increment();
+            return primary.getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.escanor1986.tennis.data;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration de la réplique en lecture (tennis.datasource.replica.*)
+ * Le primaire reste configuré par spring.datasource.* (et spring.datasource.hikari.*)
+ *
+ * @param enabled : active la répartition des lectures entre le primaire et la réplique
+ * @param url : URL JDBC de la réplique
+ * @param username : utilisateur de la réplique
+ * @param password : mot de passe de la réplique
+ * @param maximumPoolSize : taille du pool Hikari de la réplique
+ * @param lagCheckInterval : intervalle minimal entre deux lectures des positions de réplication
+ * @param primaryPositionQuery : requête qui renvoie la position (long) du primaire, après les dernières écritures validées
+ * @param replicaPositionQuery : requête qui renvoie la position (long) jusqu'à laquelle la réplique a rejoué les écritures
+ * Par défaut, positions du WAL PostgreSQL en octets (réplication en flux)
+ */
+@ConfigurationProperties(prefix = "tennis.datasource.replica")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("100ms") Duration lagCheckInterval,
+        @DefaultValue("select pg_current_wal_lsn() - '0/0'") String primaryPositionQuery,
+        @DefaultValue("select pg_last_wal_replay_lsn() - '0/0'") String replicaPositionQuery) {
+}
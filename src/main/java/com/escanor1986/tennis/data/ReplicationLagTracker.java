@@ -0,0 +1,134 @@
+package com.escanor1986.tennis.data;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Suit le retard de la réplique sur le primaire pour que chaque lecture voie les écritures déjà validées
+ * La position du primaire est le jeton de version : elle est relevée après chaque commit (à la lecture suivante),
+ * et les lectures restent sur le primaire tant que la réplique n'a pas rejoué les écritures jusqu'à cette position.
+ *
+ * ! Les positions ne sont lues qu'une fois par intervalle (lagCheckInterval) : entre deux relevés,
+ * ! une réplique en retard n'est pas réinterrogée et les lectures vont au primaire
+ * ! Une position illisible (réplique arrêtée, requête en erreur) renvoie les lectures au primaire
+ *
+ * Métrique : tennis.datasource.replica.lag (jauge, écart entre les positions, NaN avant le premier relevé)
+ *
+ * @param primary : pool du primaire
+ * @param replica : pool de la réplique
+ * @param properties : requêtes de position et intervalle entre deux relevés
+ * @param meterRegistry : registre Micrometer
+ */
+public class ReplicationLagTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationLagTracker.class);
+
+    public static final String LAG_GAUGE = "tennis.datasource.replica.lag";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final String primaryPositionQuery;
+    private final String replicaPositionQuery;
+    private final long checkIntervalNanos;
+    // tryLock : pendant un relevé, les autres lectures vont au primaire au lieu d'attendre
+    private final ReentrantLock lock = new ReentrantLock();
+    // Démarre à 1 : la position du primaire est relevée avant la première lecture sur la réplique (migrations Flyway)
+    private final AtomicLong commits = new AtomicLong(1);
+    private volatile long capturedCommits;
+    private volatile long requiredPosition = Long.MIN_VALUE;
+    private volatile long replicaPosition = Long.MIN_VALUE;
+    private long checkedAt;
+
+    public ReplicationLagTracker(DataSource primary, DataSource replica, ReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.primaryPositionQuery = properties.primaryPositionQuery();
+        this.replicaPositionQuery = properties.replicaPositionQuery();
+        this.checkIntervalNanos = properties.lagCheckInterval().toNanos();
+        this.checkedAt = System.nanoTime() - checkIntervalNanos;
+        Gauge.builder(LAG_GAUGE, this, ReplicationLagTracker::lag)
+                .description("Retard de la réplique sur les écritures validées du primaire")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Une transaction d'écriture a été validée sur le primaire : la position sera relevée avant la prochaine lecture sur la réplique
+     */
+    public void primaryCommitted() {
+        commits.incrementAndGet();
+    }
+
+    /**
+     * @return : retourne vrai si la réplique a rejoué toutes les écritures validées sur le primaire
+     */
+    public boolean replicaCaughtUp() {
+        if (commits.get() == capturedCommits && replicaPosition >= requiredPosition) {
+            return true;
+        }
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            long seen = commits.get();
+            if (seen == capturedCommits && replicaPosition >= requiredPosition) {
+                return true;
+            }
+            long now = System.nanoTime();
+            if (now - checkedAt < checkIntervalNanos) {
+                return false;
+            }
+            checkedAt = now;
+            // Dernière position relevée et non maximum : après une bascule, le nouveau primaire peut repartir plus bas
+            if (seen != capturedCommits) {
+                requiredPosition = position(primary, primaryPositionQuery);
+                capturedCommits = seen;
+            }
+            replicaPosition = position(replica, replicaPositionQuery);
+            if (replicaPosition < requiredPosition) {
+                log.debug("Réplique en retard ({} < {}), lectures envoyées au primaire", replicaPosition, requiredPosition);
+            }
+            return replicaPosition >= requiredPosition;
+        } catch (SQLException e) {
+            log.warn("Position de réplication illisible, lectures envoyées au primaire : {}", e.getMessage());
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double lag() {
+        long required = requiredPosition;
+        long replayed = replicaPosition;
+        if (required == Long.MIN_VALUE || replayed == Long.MIN_VALUE) {
+            return Double.NaN;
+        }
+        return Math.max(0, required - replayed);
+    }
+
+    private static long position(DataSource dataSource, String query) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(query)) {
+            if (!resultSet.next()) {
+                throw new SQLException("No replication position returned by: " + query);
+            }
+            long position = resultSet.getLong(1);
+            if (resultSet.wasNull()) {
+                throw new SQLException("Null replication position returned by: " + query);
+            }
+            return position;
+        }
+    }
+}
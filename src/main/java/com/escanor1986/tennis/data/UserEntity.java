@@ -17,7 +17,7 @@ public class UserEntity {
     @Column(name = "login", length = 50, nullable = false)
     private String login;
 
-    @Column(name = "password", length = 60, nullable = false)
+    @Column(name = "password", length = 100, nullable = false)
     private String password;
 
     @Column(name = "last_name", length = 50, nullable = false)
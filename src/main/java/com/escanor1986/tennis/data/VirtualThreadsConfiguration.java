@@ -0,0 +1,49 @@
+package com.escanor1986.tennis.data;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Mode threads virtuels (spring.threads.virtual.enabled=true, Java 21)
+ * Spring Boot traite alors chaque requête Tomcat sur un thread virtuel ; cette configuration
+ * borne l'accès à la base au nombre de connexions du pool Hikari (ConcurrencyLimitedDataSource).
+ *
+ * ! Code compatible : les sections critiques qui font des entrées/sorties utilisent des ReentrantLock
+ * ! (RankingEngine, Leaderboard) et non synchronized, qui épinglerait le thread virtuel à son porteur
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    // Taille par défaut de Hikari, qui ne l'applique qu'au démarrage du pool (getMaximumPoolSize() vaut -1 avant)
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikariDataSource) {
+                    int maxConnections = hikariDataSource.getMaximumPoolSize() > 0
+                            ? hikariDataSource.getMaximumPoolSize()
+                            : HIKARI_DEFAULT_POOL_SIZE;
+                    log.info("Threads virtuels : accès à la base limité à {} connexions simultanées", maxConnections);
+                    return new ConcurrencyLimitedDataSource(hikariDataSource, maxConnections,
+                            Duration.ofMillis(hikariDataSource.getConnectionTimeout()));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.escanor1986.tennis.model;
+
+/**
+ * Jeton renvoyé par /accounts/login en mode sans état, à envoyer dans l'en-tête Authorization: Bearer
+ *
+ * @param token : jeton signé
+ * @param tokenType : toujours "Bearer"
+ * @param expiresIn : durée de validité restante, en secondes
+ */
+public record AccessToken(String token, String tokenType, long expiresIn) {
+}
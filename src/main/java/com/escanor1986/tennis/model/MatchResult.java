@@ -0,0 +1,13 @@
+package com.escanor1986.tennis.model;
+
+import java.time.LocalDate;
+
+// ratingChange : points gagnés par le vainqueur ; winnerPoints et loserPoints : points des joueurs après le match
+public record MatchResult(
+        String winnerLastName,
+        String loserLastName,
+        LocalDate playedOn,
+        int ratingChange,
+        int winnerPoints,
+        int loserPoints) {
+}
@@ -0,0 +1,13 @@
+package com.escanor1986.tennis.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+
+import java.time.LocalDate;
+
+public record MatchResultToSave(
+        @NotBlank(message = "Winner last name is mandatory") String winnerLastName,
+        @NotBlank(message = "Loser last name is mandatory") String loserLastName,
+        @NotNull(message = "Match date is mandatory") @PastOrPresent(message = "Match date must be past or present") LocalDate playedOn) {
+}
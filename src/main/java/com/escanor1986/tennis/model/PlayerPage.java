@@ -0,0 +1,13 @@
+package com.escanor1986.tennis.model;
+
+import java.util.List;
+
+/**
+ * Page de joueurs dans l'ordre du classement
+ *
+ * @param players : joueurs de la page
+ * @param nextCursor : curseur "rank,id" ("points,id" pour une plage de points) à passer dans le paramètre after
+ * pour lire la page suivante, null s'il n'y en a plus
+ */
+public record PlayerPage(List<Player> players, String nextCursor) {
+}
@@ -3,13 +3,20 @@ package com.escanor1986.tennis.model;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.PositiveOrZero;
 
 import java.time.LocalDate;
 
+/**
+ * Le nom de famille ne peut pas être celui d'une route réservée sous /players (GET /players/top,
+ * /players/search, /players/stream) : ces routes passent avant GET /players/{lastName}, le joueur serait introuvable
+ */
 public record PlayerToSave(
         @NotBlank(message = "First name is mandatory") String firstName,
-        @NotBlank(message = "Last name is mandatory") String lastName,
+        @NotBlank(message = "Last name is mandatory")
+        @Pattern(regexp = "(?!(top|search|stream)$).*", flags = { Pattern.Flag.CASE_INSENSITIVE, Pattern.Flag.DOTALL },
+                message = "Last name cannot be top, search or stream, these paths are reserved") String lastName,
         @NotNull(message = "Birth date is mandatory") @PastOrPresent(message = "Birth date must be past or present") LocalDate birthDate,
         @PositiveOrZero(message = "Points must be more than zero") int points) {
 }
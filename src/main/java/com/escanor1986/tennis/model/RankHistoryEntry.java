@@ -0,0 +1,7 @@
+package com.escanor1986.tennis.model;
+
+import java.time.Instant;
+
+// Classement d'un joueur dans une photographie de l'historique
+public record RankHistoryEntry(Instant takenAt, Rank rank) {
+}
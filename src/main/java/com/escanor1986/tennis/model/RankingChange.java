@@ -0,0 +1,8 @@
+package com.escanor1986.tennis.model;
+
+import java.util.List;
+
+// Delta publié après chaque écriture validée : joueurs enregistrés (à leur nouvelle position) et noms des joueurs supprimés
+// Les autres joueurs se décalent d'autant, comme dans le classement en mémoire
+public record RankingChange(String version, List<Player> players, List<String> removed) {
+}
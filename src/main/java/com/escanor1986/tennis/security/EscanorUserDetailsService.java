@@ -6,16 +6,18 @@ import java.util.stream.Collectors;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.escanor1986.tennis.data.RoleEntity;
 import com.escanor1986.tennis.data.UserEntity;
 import com.escanor1986.tennis.data.UserRepository;
 
 @Component  // Indique à Spring de gérer cette classe comme un composant (bean)
-public class EscanorUserDetailsService implements UserDetailsService {
+public class EscanorUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     // Injection du repository qui permet d'accéder aux données utilisateur dans la base
     private final UserRepository userRepository;
@@ -25,7 +27,9 @@ public class EscanorUserDetailsService implements UserDetailsService {
     }
 
     // Méthode principale de UserDetailsService. Spring Security l'appelle lors d'une tentative d'authentification.
+    // Lecture seule : avec une réplique configurée (ReadReplicaConfiguration), la recherche est faite sur la réplique
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String login) throws UsernameNotFoundException {
         // On cherche l'utilisateur par son login (ici, en ignorant la casse)
         return userRepository.findOneWithRolesByLoginIgnoreCase(login)
@@ -35,6 +39,19 @@ public class EscanorUserDetailsService implements UserDetailsService {
             .orElseThrow(() -> new UsernameNotFoundException("User with login " + login + " could not be found"));
     }
 
+    // Appelée par Spring Security après une connexion réussie quand le hachage enregistré doit être mis à niveau
+    // (hachage sans préfixe {bcrypt} ou coût BCrypt inférieur à la configuration)
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        return userRepository.findOneWithRolesByLoginIgnoreCase(user.getUsername())
+            .map(userEntity -> {
+                userEntity.setPassword(newPassword);
+                return createSpringSecurityUser(userRepository.save(userEntity));
+            })
+            .orElseThrow(() -> new UsernameNotFoundException("User with login " + user.getUsername() + " could not be found"));
+    }
+
     // Cette méthode convertit notre entité utilisateur (UserEntity) en un objet User propre à Spring Security.
     private User createSpringSecurityUser(UserEntity userEntity) {
         // On transforme la liste de rôles (par exemple "ROLE_ADMIN", "ROLE_USER") en une liste d'objets SimpleGrantedAuthority
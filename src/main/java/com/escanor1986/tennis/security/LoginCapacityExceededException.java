@@ -0,0 +1,10 @@
+package com.escanor1986.tennis.security;
+
+/**
+ * Exception levée quand la file des connexions en attente de vérification du mot de passe est pleine
+ */
+public class LoginCapacityExceededException extends RuntimeException {
+    public LoginCapacityExceededException() {
+        super("Too many logins in progress, please retry later.");
+    }
+}
@@ -0,0 +1,72 @@
+package com.escanor1986.tennis.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Pool borné dédié aux vérifications de mot de passe
+ * ! BCrypt est volontairement lent : exécuté sur les threads Tomcat, une rafale de connexions
+ * ! les occuperait tous et bloquerait les lectures de /players
+ * Au-delà de queueCapacity connexions en attente, la demande est refusée immédiatement (503).
+ *
+ * Métriques : executor.* (file d'attente, threads actifs) étiquetées name=password-hashing,
+ * et le compteur tennis.security.login.rejected
+ *
+ * @param properties : nombre de threads et taille de la file
+ * @param meterRegistry : registre Micrometer
+ */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int threads = properties.effectiveThreads();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "password-hashing", Tags.empty()).bindTo(meterRegistry);
+        this.rejected = Counter.builder("tennis.security.login.rejected")
+                .description("Connexions refusées car la file de vérification des mots de passe est pleine")
+                .register(meterRegistry);
+        log.info("Vérification des mots de passe : {} threads, file de {} connexions", threads, properties.queueCapacity());
+    }
+
+    /**
+     * @return : retourne le résultat de la tâche, calculé sur le pool dédié
+     * @throws LoginCapacityExceededException : exception si la file d'attente est pleine
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Connexion refusée : {} vérifications de mot de passe en attente", executor.getQueue().size());
+            throw new LoginCapacityExceededException();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
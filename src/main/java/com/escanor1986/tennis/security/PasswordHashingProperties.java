@@ -0,0 +1,23 @@
+package com.escanor1986.tennis.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration de la vérification des mots de passe (tennis.security.password-hashing.*)
+ *
+ * @param threads : nombre de threads dédiés au hachage, 0 pour le nombre de processeurs
+ * @param queueCapacity : nombre de connexions en attente au-delà duquel les suivantes sont refusées (503)
+ * @param strength : coût BCrypt des nouveaux hachages, les hachages plus faibles sont mis à niveau à la connexion
+ *                 ! chaque point de coût double le temps de vérification : ne l'augmenter qu'après mesure (tennis.security.password.hash)
+ */
+@ConfigurationProperties(prefix = "tennis.security.password-hashing")
+public record PasswordHashingProperties(
+        @DefaultValue("0") int threads,
+        @DefaultValue("64") int queueCapacity,
+        @DefaultValue("10") int strength) {
+
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -1,16 +1,28 @@
 package com.escanor1986.tennis.security;
 
+import java.util.Map;
+
+import jakarta.servlet.DispatcherType;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Configuration de sécurité de l'application.
@@ -19,6 +31,7 @@ import org.springframework.security.web.SecurityFilterChain;
  */
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties({ TokenProperties.class, PasswordHashingProperties.class })
 public class SecurityConfiguration {
 
     /**
@@ -39,12 +52,21 @@ public class SecurityConfiguration {
     /**
      * Configure l'encodeur de mot de passe utilisé par l'application.
      * BCrypt est un algorithme de hachage sécurisé avec salage intégré.
+     * L'encodeur délégant préfixe les nouveaux hachages par {bcrypt} : à chaque connexion réussie, un hachage
+     * historique (sans préfixe) ou de coût inférieur à la configuration est recalculé et enregistré.
+     * Chaque hachage est mesuré pour régler le coût en fonction de la latence observée.
      * 
+     * @param properties Coût BCrypt des nouveaux hachages
+     * @param meterRegistry Registre des métriques de hachage
      * @return Un encodeur de mot de passe BCrypt
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(properties.strength())));
+        // Les hachages enregistrés avant l'ajout des préfixes sont des hachages BCrypt
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return new TimedPasswordEncoder(delegatingPasswordEncoder, meterRegistry);
     }
 
     /**
@@ -60,6 +82,8 @@ public class SecurityConfiguration {
         authenticationProvider.setUserDetailsService(escanorUserDetailsService);
         // Configuration de l'encodeur pour la vérification des mots de passe
         authenticationProvider.setPasswordEncoder(passwordEncoder);
+        // Mise à niveau du hachage à la connexion quand l'encodeur le demande (upgradeEncoding)
+        authenticationProvider.setUserDetailsPasswordService(escanorUserDetailsService);
 
         // Création du gestionnaire d'authentification avec notre fournisseur
         return new ProviderManager(authenticationProvider);
@@ -69,14 +93,20 @@ public class SecurityConfiguration {
      * Configure la chaîne de filtres de sécurité qui définit les règles d'accès aux ressources.
      * Cette méthode établit quelles URLs sont accessibles selon les rôles et les permissions.
      * 
+     * Mode sans état (tennis.security.token.enabled=true) : aucune session HTTP n'est créée,
+     * chaque requête est authentifiée par le jeton signé reçu dans l'en-tête Authorization.
+     * Les instances ne partagent alors que la clé HMAC et peuvent tourner derrière un simple répartiteur de charge.
+     *
      * @param http L'objet de configuration de sécurité HTTP
+     * @param tokenService Service des jetons, présent uniquement en mode sans état
      * @return La chaîne de filtres de sécurité configurée
      * @throws Exception Si une erreur survient pendant la configuration
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, ObjectProvider<TokenService> tokenService) throws Exception {
         // Constantes pour éviter la duplication et faciliter la maintenance
         final String playersUrl = "/players/**";
+        final String matchesUrl = "/matches/**";
         final String roleAdmin = "ROLE_ADMIN";
         final String roleUser = "ROLE_USER";
         
@@ -93,17 +123,22 @@ public class SecurityConfiguration {
                 .frameOptions(frameOptions -> frameOptions.deny())
                 // Permissions Policy : Désactive l'accès à certaines fonctionnalités du navigateur
                 .permissionsPolicyHeader(permissionPolicy -> permissionPolicy.policy("geolocation=(), microphone=(), camera=(), fullscreen=(self)"))
-                // Cache-Control : Désactive la mise en cache pour les ressources sensibles
-                .cacheControl(cacheControl -> cacheControl.disable())
+                // Cache-Control : no-cache, no-store par défaut pour toutes les réponses authentifiées
+                // Les lectures du classement posent leur propre en-tête (private, no-cache + ETag), que Spring Security conserve
+                .cacheControl(Customizer.withDefaults())
             )
             
             // Configuration des règles d'autorisation pour les requêtes HTTP
             .authorizeHttpRequests(authorization -> authorization
+                // Fin d'une réponse asynchrone (flux SSE /players/stream) : la requête d'origine a déjà été autorisée
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Règles pour l'API des joueurs selon la méthode HTTP et le rôle
                 .requestMatchers(HttpMethod.GET, playersUrl).hasAuthority(roleUser)
                 .requestMatchers(HttpMethod.POST, playersUrl).hasAuthority(roleAdmin)
                 .requestMatchers(HttpMethod.PUT, playersUrl).hasAuthority(roleAdmin)
                 .requestMatchers(HttpMethod.DELETE, playersUrl).hasAuthority(roleAdmin)
+                // Les résultats des matchs modifient les points et le classement : réservés aux administrateurs
+                .requestMatchers(HttpMethod.POST, matchesUrl).hasAuthority(roleAdmin)
                 .requestMatchers("/actuator/**").hasAuthority(roleAdmin)
                 
                 // URLs publiques ne nécessitant pas d'authentification
@@ -116,6 +151,14 @@ public class SecurityConfiguration {
                 .anyRequest().authenticated()
             );
             
+        // Mode sans état : pas de session, authentification par jeton à chaque requête
+        TokenService statelessTokenService = tokenService.getIfAvailable();
+        if (statelessTokenService != null) {
+            http
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new TokenAuthenticationFilter(statelessTokenService), UsernamePasswordAuthenticationFilter.class);
+        }
+
         // Construction et retour de la chaîne de filtres configurée
         return http.build();
     }
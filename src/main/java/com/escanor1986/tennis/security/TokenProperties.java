@@ -0,0 +1,17 @@
+package com.escanor1986.tennis.security;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration du mode d'authentification sans état (tennis.security.token.*)
+ *
+ * @param enabled : active le mode jeton, la session HTTP n'est alors plus utilisée
+ * @param secret : clé HMAC partagée par toutes les instances, au moins 32 octets
+ * @param validity : durée de validité d'un jeton
+ */
+@ConfigurationProperties(prefix = "tennis.security.token")
+public record TokenProperties(boolean enabled, String secret, @DefaultValue("1h") Duration validity) {
+}
@@ -0,0 +1,124 @@
+package com.escanor1986.tennis.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.escanor1986.tennis.model.AccessToken;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Émission et vérification des jetons du mode sans état
+ * Le jeton est un JWT compact signé en HMAC-SHA256 : en-tête.contenu.signature, encodés en base64url.
+ * Le contenu porte le login (sub), les rôles (roles) et l'expiration (exp) :
+ * ! la vérification n'a besoin ni de session ni de base de données, seulement de la clé partagée
+ *
+ * Bean créé uniquement si tennis.security.token.enabled=true
+ *
+ * @param tokenProperties : clé HMAC et durée de validité
+ * @param objectMapper : sérialisation du contenu du jeton
+ */
+@Component
+@ConditionalOnProperty(prefix = "tennis.security.token", name = "enabled", havingValue = "true")
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final String HEADER = encode("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final TokenProperties tokenProperties;
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec key;
+
+    record Claims(String sub, List<String> roles, long iat, long exp) {
+    }
+
+    public TokenService(TokenProperties tokenProperties, ObjectMapper objectMapper) {
+        if (tokenProperties.secret() == null || tokenProperties.secret().getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("tennis.security.token.secret must be at least " + MIN_SECRET_LENGTH + " bytes long");
+        }
+        this.tokenProperties = tokenProperties;
+        this.objectMapper = objectMapper;
+        this.key = new SecretKeySpec(tokenProperties.secret().getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    /**
+     * @return : retourne un jeton signé pour l'utilisateur authentifié
+     */
+    public AccessToken issue(Authentication authentication) {
+        Instant now = Instant.now();
+        Claims claims = new Claims(
+                authentication.getName(),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList(),
+                now.getEpochSecond(),
+                now.plus(tokenProperties.validity()).getEpochSecond());
+        try {
+            String unsigned = HEADER + "." + encode(objectMapper.writeValueAsBytes(claims));
+            return new AccessToken(unsigned + "." + encode(sign(unsigned)), "Bearer", tokenProperties.validity().toSeconds());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Token claims could not be serialized", e);
+        }
+    }
+
+    /**
+     * @return : retourne l'utilisateur porté par le jeton, vide si le jeton est mal formé, falsifié ou expiré
+     */
+    public Optional<Authentication> verify(String token) {
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 3 || !HEADER.equals(parts[0])) {
+            return Optional.empty();
+        }
+        try {
+            byte[] signature = Base64.getUrlDecoder().decode(parts[2]);
+            if (!MessageDigest.isEqual(signature, sign(parts[0] + "." + parts[1]))) {
+                log.debug("Jeton rejeté : signature invalide");
+                return Optional.empty();
+            }
+            Claims claims = objectMapper.readValue(Base64.getUrlDecoder().decode(parts[1]), Claims.class);
+            if (claims.sub() == null || Instant.now().getEpochSecond() >= claims.exp()) {
+                log.debug("Jeton rejeté : expiré ou sans utilisateur");
+                return Optional.empty();
+            }
+            List<SimpleGrantedAuthority> authorities = claims.roles() == null ? List.of()
+                    : claims.roles().stream().map(SimpleGrantedAuthority::new).toList();
+            return Optional.of(UsernamePasswordAuthenticationToken.authenticated(claims.sub(), null, authorities));
+        } catch (IllegalArgumentException | IOException e) {
+            log.debug("Jeton rejeté : contenu illisible");
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String unsigned) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(unsigned.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC signature is not available", e);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,14 @@
+package com.escanor1986.tennis.service;
+
+/**
+ * Exception levée si un import en lot dépasse le nombre maximum d'éléments accepté
+ *
+ * @param items : nature des éléments du lot (players, match results)
+ * @param size : nombre d'éléments reçus
+ * @param maxSize : nombre maximum d'éléments par lot
+ */
+public class BatchTooLargeException extends RuntimeException {
+  public BatchTooLargeException(String items, int size, int maxSize) {
+      super("A batch cannot contain more than " + maxSize + " " + items + ", " + size + " received.");
+  }
+}
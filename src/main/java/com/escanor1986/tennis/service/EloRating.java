@@ -0,0 +1,36 @@
+package com.escanor1986.tennis.service;
+
+/**
+ * Calcul Elo des points échangés lors d'un match
+ * Le vainqueur gagne kFactor × (1 - probabilité qu'il avait de gagner), le perdant perd autant de points
+ * (sans descendre sous zéro) : battre un joueur mieux classé rapporte plus que battre un joueur moins bien classé.
+ * Seuls les deux joueurs du match sont modifiés, aucun autre classement n'est recalculé.
+ *
+ * @param kFactor : nombre maximum de points échangés lors d'un match
+ */
+public class EloRating {
+
+    private final int kFactor;
+
+    public EloRating(int kFactor) {
+        if (kFactor < 1) {
+            throw new IllegalArgumentException("Elo K factor must be positive: " + kFactor);
+        }
+        this.kFactor = kFactor;
+    }
+
+    /**
+     * @return : retourne les points gagnés par le vainqueur, au moins 1 et au plus kFactor
+     */
+    public int pointsWon(int winnerPoints, int loserPoints) {
+        double expected = 1 / (1 + Math.pow(10, (loserPoints - winnerPoints) / 400.0));
+        return (int) Math.max(1, Math.round(kFactor * (1 - expected)));
+    }
+
+    /**
+     * @return : retourne les points du perdant après le match, jamais négatifs
+     */
+    public static int loserPointsAfter(int loserPoints, int pointsWon) {
+        return Math.max(0, loserPoints - pointsWon);
+    }
+}
@@ -0,0 +1,12 @@
+package com.escanor1986.tennis.service;
+
+/**
+ * Exception levée si un résultat de match désigne le même joueur comme vainqueur et comme perdant
+ *
+ * @param lastName : nom de famille reçu pour les deux joueurs
+ */
+public class InvalidMatchResultException extends RuntimeException {
+  public InvalidMatchResultException(String lastName) {
+      super("Match result is not valid, " + lastName + " cannot be both winner and loser.");
+  }
+}
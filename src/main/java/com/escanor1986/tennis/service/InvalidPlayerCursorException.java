@@ -0,0 +1,17 @@
+package com.escanor1986.tennis.service;
+
+/**
+ * Exception levée si le curseur de pagination fourni n'a pas le format attendu ("rank,id", ou "points,id" pour une plage de points)
+ *
+ * @param cursor : curseur reçu
+ * @param format : format attendu
+ */
+public class InvalidPlayerCursorException extends RuntimeException {
+  public InvalidPlayerCursorException(String cursor) {
+      this(cursor, "rank,id");
+  }
+
+  public InvalidPlayerCursorException(String cursor, String format) {
+      super("Cursor " + cursor + " is not valid, expected format is " + format + ".");
+  }
+}
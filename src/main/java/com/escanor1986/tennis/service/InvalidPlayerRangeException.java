@@ -0,0 +1,29 @@
+package com.escanor1986.tennis.service;
+
+import java.time.LocalDate;
+
+/**
+ * Exception levée si une recherche par plage a une borne de début supérieure à sa borne de fin,
+ * ou si l'une de ses deux bornes est absente
+ *
+ * @param field : critère de la plage (rank, points, date)
+ * @param from : borne de début reçue
+ * @param to : borne de fin reçue
+ */
+public class InvalidPlayerRangeException extends RuntimeException {
+  public InvalidPlayerRangeException(String field) {
+      super("Range on " + field + " is not valid, both bounds are required.");
+  }
+
+  public InvalidPlayerRangeException(String field, int from, int to) {
+      this(field, Integer.toString(from), Integer.toString(to));
+  }
+
+  public InvalidPlayerRangeException(String field, LocalDate from, LocalDate to) {
+      this(field, from.toString(), to.toString());
+  }
+
+  private InvalidPlayerRangeException(String field, String from, String to) {
+      super("Range " + from + ".." + to + " on " + field + " is not valid, the lower bound must not exceed the upper bound.");
+  }
+}
@@ -0,0 +1,374 @@
+package com.escanor1986.tennis.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.escanor1986.tennis.data.PlayerEntity;
+import com.escanor1986.tennis.data.PlayerRepository;
+import com.escanor1986.tennis.data.PlayerTableReloadedEvent;
+import com.escanor1986.tennis.data.PlayerView;
+import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.Rank;
+import com.escanor1986.tennis.model.RankingChange;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Classement en mémoire servi aux lectures sans interroger la base
+ * ! La photographie est immuable : les lecteurs n'ont besoin d'aucun verrou
+ * ! Chaque écriture validée (commit) publie une nouvelle photographie avec une version supérieure
+ *
+ * Les écritures sont appliquées par copie : le joueur modifié est retiré puis réinséré à sa position,
+ * seuls les joueurs dont la position a changé sont recréés, et l'index des noms n'est pas retrié. Ces deltas sont idempotents,
+ * ils peuvent donc être rejoués sur une photographie qui contient déjà la modification.
+ * Les écritures d'une même transaction (un lot du RankingWriter par exemple) forment un seul delta, appliqué après le commit :
+ * les joueurs enregistrés sont lus à ce moment-là, avec la position définitive donnée par la passe de classement du lot.
+ *
+ * La photographie est construite depuis la base au démarrage, puis reconstruite à la première lecture
+ * qui suit une invalidation (migration Flyway, recalcul complet du classement).
+ *
+ * Il porte aussi l'index de trigrammes des noms (recherche tolérante aux fautes de frappe), tenu à jour à chaque écriture.
+ *
+ * Chaque écriture appliquée est publiée aux LeaderboardListener (flux SSE), chaque invalidation leur est signalée.
+ *
+ * @param playerRepository : repository pour reconstruire la photographie depuis la base
+ * @param transactionManager : la lecture en flux doit se faire dans une transaction en lecture seule
+ * @param meterRegistry : expose le nombre de joueurs, la version du classement et la taille de l'index des noms approchés (jauges),
+ * et la durée des reconstructions
+ */
+@Component
+public class Leaderboard {
+
+    private static final Logger log = LoggerFactory.getLogger(Leaderboard.class);
+
+    private final PlayerRepository playerRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer rebuildTimer;
+    private final AtomicLong versions = new AtomicLong();
+    // Verrou plutôt que synchronized : la reconstruction lit la base, un thread virtuel bloqué
+    // dans un bloc synchronized resterait épinglé à son thread porteur (Java 21)
+    private final ReentrantLock lock = new ReentrantLock();
+    // Les numéros de version repartent de 1 au redémarrage : l'ETag est préfixé par l'instant de démarrage
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private volatile LeaderboardSnapshot snapshot;
+    // Construit avec la première photographie, puis tenu à jour à chaque écriture : un recalcul du classement ne l'invalide pas
+    private volatile PlayerFuzzyIndex fuzzyIndex;
+    private final List<LeaderboardListener> listeners = new CopyOnWriteArrayList<>();
+
+    public static final String PLAYERS_GAUGE = "tennis.players.count";
+    public static final String VERSION_GAUGE = "tennis.ranking.version";
+    public static final String REBUILD_TIMER = "tennis.leaderboard.rebuild";
+    public static final String FUZZY_INDEX_GAUGE = "tennis.players.fuzzy.index.bytes";
+
+    public Leaderboard(PlayerRepository playerRepository, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.playerRepository = playerRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Les jauges lisent la photographie existante sans jamais déclencher de reconstruction (NaN si invalidée)
+        Gauge.builder(PLAYERS_GAUGE, this, leaderboard -> leaderboard.measure(current -> current.players().size()))
+                .description("Nombre de joueurs classés")
+                .register(meterRegistry);
+        Gauge.builder(VERSION_GAUGE, this, leaderboard -> leaderboard.measure(LeaderboardSnapshot::version))
+                .description("Version du classement en mémoire")
+                .register(meterRegistry);
+        Gauge.builder(FUZZY_INDEX_GAUGE, this, leaderboard -> {
+                    PlayerFuzzyIndex fuzzy = leaderboard.fuzzyIndex;
+                    return fuzzy != null ? fuzzy.estimatedBytes() : Double.NaN;
+                })
+                .description("Estimation de la mémoire occupée par l'index des noms approchés")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder(REBUILD_TIMER)
+                .description("Reconstruction du classement en mémoire depuis la base")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return : retourne la photographie courante, reconstruite depuis la base si nécessaire
+     */
+    public LeaderboardSnapshot current() {
+        LeaderboardSnapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    /**
+     * @return : retourne la version de la photographie courante, sans lire la base si elle est déjà construite
+     */
+    public RankingVersion version() {
+        LeaderboardSnapshot current = current();
+        return new RankingVersion(eTag(current), current.lastModified());
+    }
+
+    /**
+     * Abonne un listener aux deltas publiés après chaque écriture appliquée
+     */
+    public void addListener(LeaderboardListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Publie, après le commit de la transaction courante, la nouvelle position d'un joueur créé ou modifié
+     * ! Le joueur est converti après le commit : dans un lot, sa position n'est définitive qu'en fin de lot
+     */
+    public void playerSaved(PlayerEntity player) {
+        pendingChanges().saved(player);
+    }
+
+    /**
+     * Publie, après le commit de la transaction courante, les nouvelles positions de plusieurs joueurs modifiés ensemble
+     * ! Les joueurs sont appliqués en un seul delta : appliqués un par un, la position d'un joueur
+     * ! serait calculée avec les autres encore à leur ancienne place
+     */
+    public void playersSaved(Collection<PlayerEntity> players) {
+        PendingChanges changes = pendingChanges();
+        players.forEach(changes::saved);
+    }
+
+    /**
+     * Retire, après le commit de la transaction courante, un joueur supprimé
+     */
+    public void playerRemoved(String lastName) {
+        pendingChanges().removed(lastName);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Classement en mémoire non construit au démarrage, il le sera à la première lecture", e);
+        }
+    }
+
+    /**
+     * Recherche approchée d'un nom de famille, tolérante aux fautes de frappe
+     *
+     * @return : retourne les joueurs dont le nom est le plus proche, du plus proche au moins proche
+     */
+    public List<Player> fuzzySearch(String name, int limit) {
+        LeaderboardSnapshot current = current();
+        PlayerFuzzyIndex fuzzy = fuzzyIndex;
+        if (fuzzy == null) {
+            return List.of();
+        }
+        List<Player> players = new ArrayList<>(limit);
+        for (String lastName : fuzzy.search(name, limit)) {
+            current.find(lastName).ifPresent(players::add);
+        }
+        return players;
+    }
+
+    // La table a été rechargée hors de l'application : l'index des noms approchés est lui aussi reconstruit
+    @EventListener
+    public void onPlayerTableReloaded(PlayerTableReloadedEvent event) {
+        lock.lock();
+        try {
+            fuzzyIndex = null;
+            snapshot = null;
+            listeners.forEach(LeaderboardListener::onReset);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRankingRecomputed(RankingRecomputedEvent event) {
+        invalidate();
+    }
+
+    private void invalidate() {
+        lock.lock();
+        try {
+            snapshot = null;
+            listeners.forEach(LeaderboardListener::onReset);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Les joueurs sont lus en flux sous forme de projections, déjà triés par la base, et convertis au fil de la lecture
+    private LeaderboardSnapshot rebuild() {
+        lock.lock();
+        try {
+            if (snapshot == null) {
+                List<Player> players = new ArrayList<>();
+                rebuildTimer.record(() -> readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<PlayerView> views = playerRepository.streamAllViewsByRank()) {
+                        views.map(PlayerService::toPlayer).forEach(players::add);
+                    }
+                }));
+                snapshot = LeaderboardSnapshot.of(versions.incrementAndGet(), players);
+                if (fuzzyIndex == null) {
+                    fuzzyIndex = PlayerFuzzyIndex.of(players);
+                }
+                log.info("Classement en mémoire construit : version {}, {} joueurs", snapshot.version(), players.size());
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // L'index des noms approchés ne dépend pas des positions : il est mis à jour même si la photographie est invalidée
+    private void apply(List<Player> saved, Collection<String> removed) {
+        lock.lock();
+        try {
+            PlayerFuzzyIndex fuzzy = fuzzyIndex;
+            if (fuzzy != null) {
+                removed.forEach(fuzzy::remove);
+                saved.forEach(player -> fuzzy.add(player.lastName()));
+            }
+            LeaderboardSnapshot current = snapshot;
+            if (current != null) {
+                snapshot = applied(current, saved, removed);
+                publish(saved, List.copyOf(removed));
+            } else {
+                listeners.forEach(LeaderboardListener::onReset);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Une seule fusion de l'ancienne liste et des joueurs modifiés triés par position : les joueurs modifiés et supprimés
+    // sont sautés, chaque joueur modifié est inséré quand la nouvelle liste atteint sa position, les autres sont renumérotés.
+    // ! Appelé après le commit, sous le verrou du RankingEngine : O(n + k log k) pour un delta de k joueurs, jamais O(n × k)
+    // ! Un nom ne figure jamais à la fois dans saved et removed (voir PendingChanges)
+    private LeaderboardSnapshot applied(LeaderboardSnapshot current, List<Player> saved, Collection<String> removed) {
+        List<Player> previous = new ArrayList<>(saved.size() + removed.size());
+        for (String removedLastName : removed) {
+            current.find(removedLastName).ifPresent(previous::add);
+        }
+        for (Player player : saved) {
+            current.find(player.lastName()).ifPresent(previous::add);
+        }
+        Set<Player> skipped = Collections.newSetFromMap(new IdentityHashMap<>(previous.size()));
+        skipped.addAll(previous);
+        List<Player> inserted = new ArrayList<>(saved);
+        inserted.sort(Comparator.comparingInt(player -> player.rank().position()));
+        List<Player> players = new ArrayList<>(current.players().size() - skipped.size() + inserted.size());
+        int next = 0;
+        for (Player player : current.players()) {
+            if (skipped.contains(player)) {
+                continue;
+            }
+            while (next < inserted.size() && inserted.get(next).rank().position() <= players.size() + 1) {
+                players.add(ranked(inserted.get(next++), players.size() + 1));
+            }
+            players.add(ranked(player, players.size() + 1));
+        }
+        while (next < inserted.size()) {
+            players.add(ranked(inserted.get(next++), players.size() + 1));
+        }
+        return LeaderboardSnapshot.of(versions.incrementAndGet(), players, current.names().updated(previous, saved));
+    }
+
+    private static Player ranked(Player player, int position) {
+        if (player.rank().position() == position) {
+            return player;
+        }
+        return new Player(player.firstName(), player.lastName(), player.birthDate(), new Rank(position, player.rank().points()));
+    }
+
+    // Appelé sous le verrou, juste après l'application du delta : la version est celle de la nouvelle photographie
+    private void publish(List<Player> players, List<String> removed) {
+        if (!listeners.isEmpty()) {
+            RankingChange change = new RankingChange(eTag(snapshot), players, removed);
+            listeners.forEach(listener -> listener.onChange(change));
+        }
+    }
+
+    private String eTag(LeaderboardSnapshot current) {
+        return epoch + "-" + current.version();
+    }
+
+    private double measure(ToDoubleFunction<LeaderboardSnapshot> measure) {
+        LeaderboardSnapshot current = snapshot;
+        return current != null ? measure.applyAsDouble(current) : Double.NaN;
+    }
+
+    // Écritures de la transaction courante, créées à la première écriture et liées à la transaction
+    // Hors transaction (tests, appels directs), chaque écriture est appliquée immédiatement
+    private PendingChanges pendingChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new PendingChanges(true);
+        }
+        PendingChanges changes = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new PendingChanges(false);
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(changes);
+        }
+        return changes;
+    }
+
+    /**
+     * Delta d'une transaction : joueurs enregistrés et noms supprimés, indexés par nom en majuscules
+     * Le dernier état d'un joueur l'emporte : supprimé puis recréé, il est enregistré ; enregistré puis supprimé, il est supprimé
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final boolean immediate;
+        private final Map<String, PlayerEntity> saved = new LinkedHashMap<>();
+        private final Map<String, String> removed = new LinkedHashMap<>();
+
+        private PendingChanges(boolean immediate) {
+            this.immediate = immediate;
+        }
+
+        private void saved(PlayerEntity player) {
+            String key = player.getLastName().toUpperCase(Locale.ROOT);
+            removed.remove(key);
+            saved.put(key, player);
+            if (immediate) {
+                afterCommit();
+            }
+        }
+
+        private void removed(String lastName) {
+            String key = lastName.toUpperCase(Locale.ROOT);
+            saved.remove(key);
+            removed.put(key, lastName);
+            if (immediate) {
+                afterCommit();
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            apply(saved.values().stream().map(PlayerService::toPlayer).toList(), removed.values());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(Leaderboard.this);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.escanor1986.tennis.service;
+
+import com.escanor1986.tennis.model.RankingChange;
+
+/**
+ * Abonné aux changements du classement en mémoire
+ * ! Appelé sous le verrou du Leaderboard, dans l'ordre des versions : l'implémentation ne doit pas bloquer
+ */
+public interface LeaderboardListener {
+
+    // Une écriture validée a été appliquée à la photographie
+    void onChange(RankingChange change);
+
+    // La photographie a été invalidée (recalcul complet, import en lot, rechargement) : les abonnés doivent relire le classement
+    void onReset();
+}
@@ -0,0 +1,62 @@
+package com.escanor1986.tennis.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import com.escanor1986.tennis.model.Player;
+
+/**
+ * Photographie immuable du classement à un instant donné
+ *
+ * @param version : numéro de version, strictement croissant à chaque nouvelle photographie
+ * @param lastModified : instant de création de la photographie, à la seconde (précision de l'en-tête Last-Modified)
+ * @param players : joueurs triés par classement
+ * @param playersByLastName : index des joueurs par nom de famille en majuscules
+ * @param names : index des noms et prénoms pour la recherche par préfixe
+ */
+public record LeaderboardSnapshot(long version, Instant lastModified, List<Player> players, Map<String, Player> playersByLastName, PlayerNameIndex names) {
+
+    public static LeaderboardSnapshot of(long version, List<Player> players) {
+        return of(version, players, PlayerNameIndex.of(players));
+    }
+
+    // names : index déjà mis à jour par copie, pour ne pas le retrier à chaque écriture
+    public static LeaderboardSnapshot of(long version, List<Player> players, PlayerNameIndex names) {
+        Map<String, Player> playersByLastName = new HashMap<>(players.size() * 4 / 3 + 1);
+        for (Player player : players) {
+            playersByLastName.put(normalize(player.lastName()), player);
+        }
+        return new LeaderboardSnapshot(version, Instant.now().truncatedTo(ChronoUnit.SECONDS), Collections.unmodifiableList(players), Collections.unmodifiableMap(playersByLastName), names);
+    }
+
+    // Les n premiers joueurs du classement : vue sur la liste, sans copie
+    public List<Player> top(int n) {
+        return players.subList(0, Math.min(n, players.size()));
+    }
+
+    // Joueurs dont le nom ou le prénom commence par le préfixe, sans tenir compte de la casse
+    public List<Player> search(String prefix, int limit) {
+        List<String> lastNames = names.search(prefix, limit);
+        List<Player> found = new ArrayList<>(lastNames.size());
+        for (String lastName : lastNames) {
+            found.add(playersByLastName.get(lastName));
+        }
+        return found;
+    }
+
+    // Recherche insensible à la casse, comme findOneByLastNameIgnoreCase
+    public Optional<Player> find(String lastName) {
+        return Optional.ofNullable(playersByLastName.get(normalize(lastName)));
+    }
+
+    static String normalize(String lastName) {
+        return lastName.toUpperCase(Locale.ROOT);
+    }
+}
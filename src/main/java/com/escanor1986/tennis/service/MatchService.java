@@ -0,0 +1,205 @@
+package com.escanor1986.tennis.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.escanor1986.tennis.data.MatchResultEntity;
+import com.escanor1986.tennis.data.MatchResultRepository;
+import com.escanor1986.tennis.data.PlayerEntity;
+import com.escanor1986.tennis.data.PlayerRepository;
+import com.escanor1986.tennis.model.MatchResult;
+import com.escanor1986.tennis.model.MatchResultToSave;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Classe pour enregistrer les résultats des matchs
+ * ! Un résultat ne modifie que les points des deux joueurs du match (calcul Elo), puis seuls ces deux joueurs
+ * ! sont repositionnés dans le classement : aucun recalcul complet
+ * ! Un lot applique les résultats dans l'ordre, en mémoire, puis une seule passe de classement en fin de lot
+ *
+ * @Service : annotation pour dire que cette classe est un service
+ * @Timed : chaque méthode publique est mesurée dans le timer tennis.matches.operation
+ *
+ * @param playerRepository : repository pour retrouver les joueurs du match
+ * @param matchResultRepository : repository pour enregistrer les résultats
+ * @param rankingEngine : moteur qui ne décale que les plages de classement impactées
+ * @param rankingWriter : rédacteur unique du classement, partagé avec les écritures des joueurs
+ * @param leaderboard : classement en mémoire, mis à jour après chaque commit
+ * @param kFactor : nombre maximum de points échangés lors d'un match (tennis.matches.k-factor)
+ *
+ * @return : enregistre un résultat et retourne les points échangés
+ * @return : enregistre un lot de résultats et retourne les points échangés par chacun
+ */
+@Service
+@Timed(value = "tennis.matches.operation", description = "Opérations du service des matchs", histogram = true, percentiles = { 0.5, 0.95, 0.99 })
+public class MatchService {
+
+    private final PlayerRepository playerRepository;
+    private final MatchResultRepository matchResultRepository;
+    private final RankingEngine rankingEngine;
+    private final RankingWriter rankingWriter;
+    private final Leaderboard leaderboard;
+    private final EloRating eloRating;
+    private static final Logger log = LoggerFactory.getLogger(MatchService.class);
+
+    // Nombre maximum de résultats acceptés par un import en lot
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    // Nombre de joueurs chargés par requête lors d'un import, pour borner la taille de la clause IN
+    private static final int PLAYER_LOAD_CHUNK = 1_000;
+
+    public MatchService(PlayerRepository playerRepository, MatchResultRepository matchResultRepository, RankingEngine rankingEngine,
+            RankingWriter rankingWriter, Leaderboard leaderboard, @Value("${tennis.matches.k-factor:32}") int kFactor) {
+        this.playerRepository = playerRepository;
+        this.matchResultRepository = matchResultRepository;
+        this.rankingEngine = rankingEngine;
+        this.rankingWriter = rankingWriter;
+        this.leaderboard = leaderboard;
+        this.eloRating = new EloRating(kFactor);
+    }
+
+    /**
+     * Enregistre un résultat : passe par le rédacteur unique, comme les écritures des joueurs
+     *
+     * @return : retourne le résultat enregistré avec les points échangés et les points des joueurs après le match
+     * @throws PlayerNotFoundException : exception si un des joueurs n'existe pas
+     * @throws InvalidMatchResultException : exception si le vainqueur et le perdant sont le même joueur
+     */
+    public MatchResult record(MatchResultToSave matchResultToSave) {
+        log.info("Enregistrement du match : {} bat {}", matchResultToSave.winnerLastName(), matchResultToSave.loserLastName());
+        checkPlayers(matchResultToSave);
+        try {
+            MatchResultEntity savedMatch = rankingWriter.write(() -> {
+                PlayerEntity winner = findPlayer(matchResultToSave.winnerLastName());
+                PlayerEntity loser = findPlayer(matchResultToSave.loserLastName());
+                Map<PlayerEntity, Integer> points = new LinkedHashMap<>();
+                MatchResultEntity match = play(winner, loser, matchResultToSave, points);
+
+                rankingEngine.movePlayers(points);
+                matchResultRepository.save(match);
+                leaderboard.playersSaved(List.of(winner, loser));
+                return match;
+            });
+            return toMatchResult(savedMatch);
+        } catch (DataAccessException e) {
+            log.error("Erreur lors de l'enregistrement du match", e);
+            throw new PlayerDataRetrievalException(e);
+        }
+    }
+
+    /**
+     * Import en lot : les résultats sont appliqués dans l'ordre du lot, les INSERT sont envoyés en batch JDBC
+     * et le classement n'est calculé qu'une fois, en fin de lot
+     * ! Le lot est refusé en entier si un des joueurs n'existe pas
+     *
+     * @param matchResultsToSave : résultats à enregistrer, au plus MAX_BATCH_SIZE
+     *
+     * @return : retourne les résultats enregistrés, dans l'ordre du lot
+     * @throws BatchTooLargeException : exception si le lot dépasse MAX_BATCH_SIZE résultats
+     * @throws PlayerNotFoundException : exception si un des joueurs n'existe pas
+     * @throws InvalidMatchResultException : exception si un résultat a le même vainqueur et perdant
+     */
+    @Transactional
+    public List<MatchResult> recordAll(List<MatchResultToSave> matchResultsToSave) {
+        log.info("Enregistrement de {} matchs", matchResultsToSave.size());
+        if (matchResultsToSave.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException("match results", matchResultsToSave.size(), MAX_BATCH_SIZE);
+        }
+        matchResultsToSave.forEach(MatchService::checkPlayers);
+        try {
+            Map<String, PlayerEntity> players = findPlayers(matchResultsToSave);
+
+            // Points courants de chaque joueur, dans l'ordre de leur premier match du lot
+            Map<PlayerEntity, Integer> points = new LinkedHashMap<>();
+            List<MatchResultEntity> matches = new ArrayList<>(matchResultsToSave.size());
+            for (MatchResultToSave matchResultToSave : matchResultsToSave) {
+                matches.add(play(
+                        players.get(matchResultToSave.winnerLastName().toUpperCase(Locale.ROOT)),
+                        players.get(matchResultToSave.loserLastName().toUpperCase(Locale.ROOT)),
+                        matchResultToSave,
+                        points));
+            }
+
+            rankingEngine.applyBatch(() -> rankingEngine.movePlayers(points));
+            matchResultRepository.saveAll(matches);
+            leaderboard.playersSaved(points.keySet());
+
+            return matches.stream().map(MatchService::toMatchResult).toList();
+        } catch (DataAccessException e) {
+            log.error("Erreur lors de l'enregistrement des matchs", e);
+            throw new PlayerDataRetrievalException(e);
+        } finally {
+            log.info("Matchs enregistrés : {}", matchResultsToSave.size());
+        }
+    }
+
+    // Calcule les points échangés à partir des points courants (ceux du lot s'ils ont déjà joué) et les reporte dans points
+    private MatchResultEntity play(PlayerEntity winner, PlayerEntity loser, MatchResultToSave matchResultToSave, Map<PlayerEntity, Integer> points) {
+        int winnerPoints = points.getOrDefault(winner, winner.getPoints());
+        int loserPoints = points.getOrDefault(loser, loser.getPoints());
+        int pointsWon = eloRating.pointsWon(winnerPoints, loserPoints);
+        points.put(winner, winnerPoints + pointsWon);
+        points.put(loser, EloRating.loserPointsAfter(loserPoints, pointsWon));
+        return new MatchResultEntity(winner, loser, matchResultToSave.playedOn(), pointsWon, points.get(winner), points.get(loser));
+    }
+
+    private PlayerEntity findPlayer(String lastName) {
+        return playerRepository.findOneByLastNameIgnoreCase(lastName).orElseThrow(() -> {
+            log.warn("Joueur du match non trouvé : {}", lastName);
+            return new PlayerNotFoundException(lastName);
+        });
+    }
+
+    // Charge tous les joueurs du lot par paquets de PLAYER_LOAD_CHUNK noms, indexés par nom en majuscules
+    private Map<String, PlayerEntity> findPlayers(List<MatchResultToSave> matchResultsToSave) {
+        // Nom en majuscules -> nom reçu, pour que l'erreur cite le nom tel que le client l'a envoyé
+        Map<String, String> lastNames = new LinkedHashMap<>();
+        for (MatchResultToSave matchResultToSave : matchResultsToSave) {
+            lastNames.putIfAbsent(matchResultToSave.winnerLastName().toUpperCase(Locale.ROOT), matchResultToSave.winnerLastName());
+            lastNames.putIfAbsent(matchResultToSave.loserLastName().toUpperCase(Locale.ROOT), matchResultToSave.loserLastName());
+        }
+        List<String> upperLastNames = List.copyOf(lastNames.keySet());
+        Map<String, PlayerEntity> players = new HashMap<>();
+        for (int from = 0; from < upperLastNames.size(); from += PLAYER_LOAD_CHUNK) {
+            List<String> chunk = upperLastNames.subList(from, Math.min(from + PLAYER_LOAD_CHUNK, upperLastNames.size()));
+            for (PlayerEntity player : playerRepository.findAllByUpperLastNameIn(chunk)) {
+                players.put(player.getLastName().toUpperCase(Locale.ROOT), player);
+            }
+        }
+        for (String lastName : upperLastNames) {
+            if (!players.containsKey(lastName)) {
+                log.warn("Joueur du match non trouvé : {}", lastNames.get(lastName));
+                throw new PlayerNotFoundException(lastNames.get(lastName));
+            }
+        }
+        return players;
+    }
+
+    private static void checkPlayers(MatchResultToSave matchResultToSave) {
+        if (matchResultToSave.winnerLastName().equalsIgnoreCase(matchResultToSave.loserLastName())) {
+            throw new InvalidMatchResultException(matchResultToSave.winnerLastName());
+        }
+    }
+
+    private static MatchResult toMatchResult(MatchResultEntity match) {
+        return new MatchResult(
+                match.getWinner().getLastName(),
+                match.getLoser().getLastName(),
+                match.getPlayedOn(),
+                match.getRatingChange(),
+                match.getWinnerPoints(),
+                match.getLoserPoints());
+    }
+}
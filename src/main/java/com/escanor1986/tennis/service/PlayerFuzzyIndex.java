@@ -0,0 +1,165 @@
+package com.escanor1986.tennis.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.escanor1986.tennis.model.Player;
+
+/**
+ * Index inversé de trigrammes sur les noms de famille, pour retrouver un joueur malgré une faute de frappe
+ * ("Djokovich" retrouve "Djokovic")
+ *
+ * Une recherche compte les trigrammes partagés par chaque nom candidat, garde les MAX_CANDIDATES meilleurs
+ * puis les départage par distance d'édition (Levenshtein) : seuls ces quelques noms sont comparés lettre à lettre.
+ * Le temps de réponse est borné quelle que soit la taille de la table :
+ * - la requête est tronquée à MAX_QUERY_LENGTH caractères
+ * - un trigramme présent dans plus de MAX_POSTINGS_SCANNED noms ne discrimine rien, il n'est pas parcouru
+ *
+ * ! Les lectures sont concurrentes, les modifications (add, remove) doivent être faites par un seul thread à la fois :
+ * ! c'est le Leaderboard qui les sérialise sous son verrou
+ */
+public final class PlayerFuzzyIndex {
+
+    static final int MAX_QUERY_LENGTH = 32;
+    static final int MAX_POSTINGS_SCANNED = 5_000;
+    static final int MAX_CANDIDATES = 64;
+
+    // Estimation de l'empreinte mémoire : entrée de la table des trigrammes (clé, noeud, ensemble vide)
+    // et référence d'un nom dans l'ensemble d'un trigramme (noeud, case de la table)
+    private static final long GRAM_BYTES = 200;
+    private static final long POSTING_BYTES = 48;
+
+    private record Candidate(String lastName, int sharedGrams, int distance) {
+    }
+
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+    private final AtomicLong postingCount = new AtomicLong();
+
+    public static PlayerFuzzyIndex of(List<Player> players) {
+        PlayerFuzzyIndex index = new PlayerFuzzyIndex();
+        for (Player player : players) {
+            index.add(player.lastName());
+        }
+        return index;
+    }
+
+    public void add(String lastName) {
+        String folded = LeaderboardSnapshot.normalize(lastName);
+        for (String gram : grams(folded)) {
+            if (postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(folded)) {
+                postingCount.incrementAndGet();
+            }
+        }
+    }
+
+    public void remove(String lastName) {
+        String folded = LeaderboardSnapshot.normalize(lastName);
+        for (String gram : grams(folded)) {
+            Set<String> names = postings.get(gram);
+            if (names != null && names.remove(folded)) {
+                postingCount.decrementAndGet();
+                if (names.isEmpty()) {
+                    postings.remove(gram, names);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return : retourne une estimation en octets de la mémoire occupée par l'index
+     */
+    public long estimatedBytes() {
+        return postings.size() * GRAM_BYTES + postingCount.get() * POSTING_BYTES;
+    }
+
+    /**
+     * @param name : nom de famille approché
+     * @param limit : nombre maximum de noms retournés
+     *
+     * @return : retourne les noms de famille en majuscules les plus proches, du plus proche au moins proche
+     */
+    public List<String> search(String name, int limit) {
+        String folded = LeaderboardSnapshot.normalize(name.length() > MAX_QUERY_LENGTH ? name.substring(0, MAX_QUERY_LENGTH) : name);
+        Map<String, Integer> sharedGrams = new HashMap<>();
+        for (String gram : grams(folded)) {
+            Set<String> names = postings.get(gram);
+            if (names != null && names.size() <= MAX_POSTINGS_SCANNED) {
+                for (String candidate : names) {
+                    sharedGrams.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+
+        // Les MAX_CANDIDATES noms qui partagent le plus de trigrammes, le moins bon en tête de file
+        PriorityQueue<Map.Entry<String, Integer>> best = new PriorityQueue<>(MAX_CANDIDATES + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<String, Integer> entry : sharedGrams.entrySet()) {
+            best.add(entry);
+            if (best.size() > MAX_CANDIDATES) {
+                best.poll();
+            }
+        }
+
+        // Au-delà d'une faute pour trois lettres, le nom n'est plus considéré comme proche
+        int maxDistance = Math.max(1, folded.length() / 3);
+        List<Candidate> candidates = new ArrayList<>(best.size());
+        for (Map.Entry<String, Integer> entry : best) {
+            int distance = distance(folded, entry.getKey(), maxDistance);
+            if (distance <= maxDistance) {
+                candidates.add(new Candidate(entry.getKey(), entry.getValue(), distance));
+            }
+        }
+        candidates.sort(Comparator.comparingInt(Candidate::distance)
+                .thenComparing(Comparator.comparingInt(Candidate::sharedGrams).reversed())
+                .thenComparing(Candidate::lastName));
+        return candidates.stream()
+                .limit(limit)
+                .map(Candidate::lastName)
+                .toList();
+    }
+
+    // Trigrammes du nom encadré par des marqueurs de début et de fin : les noms courts en ont au moins deux
+    static Set<String> grams(String folded) {
+        String padded = "^" + folded + "$";
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Distance de Levenshtein, interrompue dès qu'elle dépasse maxDistance (retourne alors maxDistance + 1)
+    static int distance(String source, String target, int maxDistance) {
+        if (Math.abs(source.length() - target.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previous = new int[target.length() + 1];
+        int[] current = new int[target.length() + 1];
+        for (int j = 0; j <= target.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= source.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= target.length(); j++) {
+                int substitution = previous[j - 1] + (source.charAt(i - 1) == target.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[target.length()], maxDistance + 1);
+    }
+}
@@ -0,0 +1,141 @@
+package com.escanor1986.tennis.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.escanor1986.tennis.model.Player;
+
+/**
+ * Index immuable des noms et prénoms des joueurs pour l'autocomplétion par préfixe
+ *
+ * Chaque joueur y figure deux fois, sous la forme "NOM_EN_MAJUSCULES\0NOM_DE_FAMILLE" et
+ * "PRÉNOM_EN_MAJUSCULES\0NOM_DE_FAMILLE", dans un tableau trié :
+ * une recherche est une recherche dichotomique puis un parcours des seules clés qui commencent par le préfixe,
+ * en O(log n + résultats), sans autre allocation que la liste de résultats.
+ *
+ * Comme la photographie du classement, l'index est modifié par copie (updated) : O(n + k log k) par delta de k joueurs,
+ * à comparer au O(n log n) d'un tri complet.
+ */
+public final class PlayerNameIndex {
+
+    // Sépare le nom indexé du nom de famille du joueur, et se trie avant tout autre caractère
+    private static final char SEPARATOR = '\0';
+    private static final String[] NONE = new String[0];
+
+    private final String[] keys;
+
+    private PlayerNameIndex(String[] keys) {
+        this.keys = keys;
+    }
+
+    public static PlayerNameIndex of(List<Player> players) {
+        String[] keys = new String[players.size() * 2];
+        int size = 0;
+        for (Player player : players) {
+            for (String key : keysOf(player)) {
+                keys[size++] = key;
+            }
+        }
+        keys = Arrays.copyOf(keys, size);
+        Arrays.sort(keys);
+        return new PlayerNameIndex(keys);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * @param previous : joueur à retirer, null pour une création
+     * @param next : joueur à ajouter, null pour une suppression
+     *
+     * @return : retourne un nouvel index, ou celui-ci si les noms indexés n'ont pas changé
+     */
+    public PlayerNameIndex updated(Player previous, Player next) {
+        return updated(previous == null ? List.of() : List.of(previous), next == null ? List.of() : List.of(next));
+    }
+
+    /**
+     * Applique un delta entier en une seule fusion : le coût ne dépend pas du nombre de joueurs du delta multiplié par la taille de l'index
+     *
+     * @param previous : joueurs à retirer (version précédente des joueurs modifiés, joueurs supprimés)
+     * @param next : joueurs à ajouter (joueurs créés ou modifiés)
+     *
+     * @return : retourne un nouvel index, ou celui-ci si les noms indexés n'ont pas changé
+     */
+    public PlayerNameIndex updated(Collection<Player> previous, Collection<Player> next) {
+        String[] removed = keysOf(previous);
+        String[] added = keysOf(next);
+        if (Arrays.equals(removed, added)) {
+            return this;
+        }
+        Set<String> removedKeys = Set.of(removed);
+        String[] result = new String[keys.length + added.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < keys.length || j < added.length) {
+            if (i < keys.length && removedKeys.contains(keys[i])) {
+                i++;
+            } else if (j < added.length && (i == keys.length || added[j].compareTo(keys[i]) < 0)) {
+                result[size++] = added[j++];
+            } else {
+                result[size++] = keys[i++];
+            }
+        }
+        return new PlayerNameIndex(Arrays.copyOf(result, size));
+    }
+
+    /**
+     * Recherche insensible à la casse, sur le nom ou le prénom
+     *
+     * @param prefix : début du nom ou du prénom
+     * @param limit : nombre maximum de joueurs retournés
+     *
+     * @return : retourne les noms de famille en majuscules des joueurs trouvés, dans l'ordre alphabétique du nom trouvé
+     */
+    public List<String> search(String prefix, int limit) {
+        String folded = fold(prefix);
+        int start = Arrays.binarySearch(keys, folded);
+        if (start < 0) {
+            start = -start - 1;
+        }
+        List<String> lastNames = new ArrayList<>(Math.min(limit, 16));
+        for (int i = start; i < keys.length && lastNames.size() < limit && keys[i].startsWith(folded); i++) {
+            String lastName = keys[i].substring(keys[i].indexOf(SEPARATOR) + 1);
+            // Un joueur dont le nom et le prénom commencent par le préfixe n'est retourné qu'une fois
+            if (!lastNames.contains(lastName)) {
+                lastNames.add(lastName);
+            }
+        }
+        return lastNames;
+    }
+
+    // Clés triées d'un joueur, sans doublon si son prénom et son nom sont identiques
+    private static String[] keysOf(Player player) {
+        String lastName = LeaderboardSnapshot.normalize(player.lastName());
+        String byLastName = lastName + SEPARATOR + lastName;
+        String byFirstName = fold(player.firstName()) + SEPARATOR + lastName;
+        int comparison = byFirstName.compareTo(byLastName);
+        if (comparison == 0) {
+            return new String[] { byLastName };
+        }
+        return comparison < 0 ? new String[] { byFirstName, byLastName } : new String[] { byLastName, byFirstName };
+    }
+
+    // Clés triées de plusieurs joueurs, sans doublon
+    private static String[] keysOf(Collection<Player> players) {
+        if (players.isEmpty()) {
+            return NONE;
+        }
+        return players.stream().map(PlayerNameIndex::keysOf).flatMap(Arrays::stream).distinct().sorted().toArray(String[]::new);
+    }
+
+    private static String fold(String name) {
+        return name.toUpperCase(Locale.ROOT);
+    }
+}
@@ -1,8 +1,23 @@
 package com.escanor1986.tennis.service;
 
+import java.util.List;
+
 public class PlayerNotFoundException extends RuntimeException {
+
+  // Noms de famille proches de celui demandé, proposés dans le corps de la réponse 404
+  private final List<String> suggestions;
+
   public PlayerNotFoundException(String lastName) {
+      this(lastName, List.of());
+  }
+
+  public PlayerNotFoundException(String lastName, List<String> suggestions) {
       super("Player with last name " + lastName + " could not be found.");
+      this.suggestions = List.copyOf(suggestions);
+  }
+
+  public List<String> getSuggestions() {
+      return suggestions;
   }
 }
 
@@ -1,60 +1,95 @@
 package com.escanor1986.tennis.service;
 
-import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.escanor1986.tennis.data.PlayerEntity;
 import com.escanor1986.tennis.data.PlayerRepository;
+import com.escanor1986.tennis.data.PlayerView;
 import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.PlayerPage;
 import com.escanor1986.tennis.model.PlayerToSave;
 import com.escanor1986.tennis.model.Rank;
 
+import io.micrometer.core.annotation.Timed;
+
 /**
  * Classe pour gérer les joueurs
  * ! Ajout des blocs try/catch/finally pour gérer les exceptions
  * ! Cela permet de gérer les exceptions de manière centralisée
+ * ! Les lectures passent par des projections PlayerView (aucune entité gérée) dans des transactions en lecture seule
+ * ! Les écritures renvoient l'état enregistré sans relire le joueur
  * 
  * 
  * @Service : annotation pour dire que cette classe est un service
+ * @Timed : chaque méthode publique est mesurée dans le timer tennis.players.operation (étiquettes class, method, exception)
  * 
  * @param playerRepository : repository pour accéder à la base de données
+ * @param rankingEngine : moteur qui ne décale que la plage de classement impactée par une écriture
+ * @param leaderboard : classement en mémoire qui sert les lectures, mis à jour après chaque commit
+ * @param rankingWriter : rédacteur unique qui regroupe les créations, modifications et suppressions concurrentes
  * 
  * @return : retourne la liste de tous les joueurs triée par classement
+ * @return : retourne les n meilleurs joueurs du classement
+ * @return : retourne la version courante du classement
+ * @return : retourne une page de joueurs à partir d'un curseur
+ * @return : retourne les joueurs classés entre deux positions
+ * @return : retourne les joueurs dont les points sont compris entre deux valeurs
+ * @return : retourne les joueurs dont le nom ou le prénom commence par un préfixe
+ * @return : retourne les joueurs dont le nom est proche d'un nom approché
  * @return : retourne un joueur par son nom de famille
  * @return : crée un nouveau joueur et retourne le joueur créé
+ * @return : crée un lot de joueurs et retourne les joueurs créés
  * @return : met à jour un joueur et retourne le joueur mis à jour
  * @return : supprime un joueur
  */
 @Service
+@Timed(value = "tennis.players.operation", description = "Opérations du service des joueurs", histogram = true, percentiles = { 0.5, 0.95, 0.99 })
 public class PlayerService {
 
     @Autowired
     private final PlayerRepository playerRepository;
+    private final RankingEngine rankingEngine;
+    private final Leaderboard leaderboard;
+    private final RankingWriter rankingWriter;
     private static final Logger log = LoggerFactory.getLogger(PlayerService.class);
 
-    public PlayerService(PlayerRepository playerRepository) {
+    // Taille maximale d'une page ou d'un top, quelle que soit la limite demandée par le client
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Nombre de noms proches proposés quand un joueur n'est pas trouvé
+    public static final int SUGGESTIONS = 3;
+
+    // Nombre maximum de joueurs acceptés par un import en lot
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    // Nombre de noms vérifiés par requête lors d'un import, pour borner la taille de la clause IN
+    private static final int LAST_NAME_CHECK_CHUNK = 1_000;
+
+    public PlayerService(PlayerRepository playerRepository, RankingEngine rankingEngine, Leaderboard leaderboard, RankingWriter rankingWriter) {
         this.playerRepository = playerRepository;
+        this.rankingEngine = rankingEngine;
+        this.leaderboard = leaderboard;
+        this.rankingWriter = rankingWriter;
     }
 
     public List<Player> getAllPlayers() {
         log.info("Récupération de la liste des joueurs");
         try {
-            return playerRepository.findAll().stream()
-                    .map(player -> new Player(
-                            player.getFirstName(),
-                            player.getLastName(),
-                            player.getBirthDate(),
-                            new Rank(player.getRank(), player.getPoints())))
-                    .sorted(Comparator.comparing(player -> player.rank().position()))
-                    .collect(Collectors.toList());
+            return leaderboard.current().players();
         } catch (DataAccessException e) {
             log.error("Erreur lors de la récupération de la liste des joueurs", e);
             throw new PlayerDataRetrievalException(e);
@@ -62,6 +97,197 @@ public class PlayerService {
     }
 
     /**
+     * Meilleurs joueurs du classement, lus dans le classement en mémoire sans requête ni copie de la liste
+     *
+     * @param n : nombre de joueurs, borné entre 1 et MAX_PAGE_SIZE
+     *
+     * @return : retourne les n premiers joueurs du classement
+     */
+    public List<Player> getTopPlayers(int n) {
+        log.debug("Récupération des {} meilleurs joueurs", n);
+        try {
+            return leaderboard.current().top(Math.min(Math.max(n, 1), MAX_PAGE_SIZE));
+        } catch (DataAccessException e) {
+            log.error("Erreur lors de la récupération des meilleurs joueurs", e);
+            throw new PlayerDataRetrievalException(e);
+        }
+    }
+
+    /**
+     * ! À lire avant les joueurs : si une écriture survient entre les deux lectures, le client reçoit
+     * ! des données plus récentes que la version, et la requête conditionnelle suivante renverra tout
+     *
+     * @return : retourne la version courante du classement, pour les ETag et Last-Modified
+     */
+    public RankingVersion getRankingVersion() {
+        try {
+            return leaderboard.version();
+        } catch (DataAccessException e) {
+            log.error("Erreur lors de la récupération de la version du classement", e);
+            throw new PlayerDataRetrievalException(e);
+        }
+    }
+
+    /**
+     * Pagination par curseur : lit au plus limit joueurs classés après le curseur
+     * ! Une ligne de plus que demandé est lue pour savoir s'il existe une page suivante
+     *
+     * @param limit : nombre de joueurs par page, borné à MAX_PAGE_SIZE
+     * @param after : curseur "rank,id" renvoyé par la page précédente, null pour la première page
+     *
+     * @return : retourne la page de joueurs et le curseur de la page suivante
+     * @throws InvalidPlayerCursorException : exception si le curseur n'a pas le format attendu
+     */
+    @Transactional(readOnly = true)
+    public PlayerPage getPlayersPage(int limit, String after) {
+        log.info("Récupération d'une page de {} joueurs après {}", limit, after);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Cursor cursor = Cursor.parse(after, "rank,id", 0);
+        try {
+            return page(playerRepository.findViewsRankedAfter(cursor.value(), cursor.id(), Limit.of(pageSize + 1)), pageSize,
+                    last -> last.rank() + "," + last.id());
+        } catch (DataAccessException e) {
+            log.error("Erreur lors de la récupération d'une page de joueurs", e);
+            throw new PlayerDataRetrievalException(e);
+        }
+    }
+
+    /**
+     * Joueurs classés entre deux positions, par exemple autour d'un joueur donné
+     * ! Au plus MAX_PAGE_SIZE joueurs par page : le curseur de la page suivante permet de lire le reste de la plage
+     *
+     * @param fromRank : première position, ramenée à 1 si elle est inférieure
+     * @param toRank : dernière position
+     * @param after : curseur "rank,id" renvoyé par la page précédente, null pour la première page
+     *
+     * @return : retourne la page de joueurs de la plage dans l'ordre du classement et le curseur de la page suivante
+     * @throws InvalidPlayerRangeException : exception si une borne est absente ou si fromRank est supérieur à toRank
+     * @throws InvalidPlayerCursorException : exception si le curseur n'a pas le format attendu
+     */
+    @Transactional(readOnly = true)
+    public PlayerPage getPlayersByRank(Integer fromRank, Integer toRank, String after) {
+        log.info("Récupération des joueurs classés de {} à {} après {}", fromRank, toRank, after);
+        if (fromRank == null || toRank == null) {
+            throw new InvalidPlayerRangeException("rank");
+        }
+        if (fromRank > toRank) {
+            throw new InvalidPlayerRangeException("rank", fromRank, toRank);
+        }
+        Cursor cursor = Cursor.parse(after, "rank,id", 0);
+        try {
+            return page(playerRepository.findViewsByRankBetween(Math.max(fromRank, 1), toRank, cursor.value(), cursor.id(),
+                    Limit.of(MAX_PAGE_SIZE + 1)), MAX_PAGE_SIZE, last -> last.rank() + "," + last.id());
+        } catch (DataAccessException e) {
+            log.error("Erreur lors de la récupération des joueurs par classement", e);
+            throw new PlayerDataRetrievalException(e);
+        }
+    }
+
+    /**
+     * Joueurs dont les points sont compris entre deux valeurs, dans l'ordre du classement
+     * ! Au plus MAX_PAGE_SIZE joueurs par page : le curseur de la page suivante permet de lire le reste de la plage
+     *
+     * @param minPoints : points minimum
+     * @param maxPoints : points maximum
+     * @param after : curseur "points,id" renvoyé par la page précédente, null pour la première page
+     *
+     * @return : retourne la page de joueurs de la plage dans l'ordre du classement et le curseur de la page suivante
+     * @throws InvalidPlayerRangeException : exception si une borne est absente ou si minPoints est supérieur à maxPoints
+     * @throws InvalidPlayerCursorException : exception si le curseur n'a pas le format attendu
+     */
+    @Transactional(readOnly = true)
+    public PlayerPage getPlayersByPoints(Integer minPoints, Integer maxPoints, String after) {
+        log.info("Récupération des joueurs ayant de {} à {} points après {}", minPoints, maxPoints, after);
+        if (minPoints == null || maxPoints == null) {
+            throw new InvalidPlayerRangeException("points");
+        }
+        if (minPoints > maxPoints) {
+            throw new InvalidPlayerRangeException("points", minPoints, maxPoints);
+        }
+        // Première page : tous les joueurs à maxPoints (id > 0) et en dessous
+        Cursor cursor = Cursor.parse(after, "points,id", maxPoints);
+        try {
+            return page(playerRepository.findViewsByPointsBetween(minPoints, maxPoints, cursor.value(), cursor.id(),
+                    Limit.of(MAX_PAGE_SIZE + 1)), MAX_PAGE_SIZE, last -> last.points() + "," + last.id());
+        } catch (DataAccessException e) {
+            log.error("Erreur lors de la récupération des joueurs par points", e);
+            throw new PlayerDataRetrievalException(e);
+        }
+    }
+
+    // Une ligne de plus que la page a été lue : sa présence indique une page suivante, dont le curseur est le dernier joueur servi
+    private static PlayerPage page(List<PlayerView> players, int pageSize, Function<PlayerView, String> cursorOf) {
+        String nextCursor = null;
+        if (players.size() > pageSize) {
+            players = players.subList(0, pageSize);
+            nextCursor = cursorOf.apply(players.get(pageSize - 1));
+        }
+        return new PlayerPage(players.stream().map(PlayerService::toPlayer).toList(), nextCursor);
+    }
+
+    // Curseur "valeur,id" : position ou points du dernier joueur de la page précédente, puis son id
+    private record Cursor(int value, long id) {
+
+        static Cursor parse(String after, String format, int firstValue) {
+            if (after == null) {
+                return new Cursor(firstValue, 0);
+            }
+            String[] cursor = after.split(",");
+            try {
+                return new Cursor(Integer.parseInt(cursor[0].trim()), Long.parseLong(cursor[1].trim()));
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new InvalidPlayerCursorException(after, format);
+            }
+        }
+    }
+
+    /**
+     * Autocomplétion : joueurs dont le nom ou le prénom commence par le préfixe, sans tenir compte de la casse
+     * ! Servie par l'index des noms du classement en mémoire, sans requête
+     *
+     * @param prefix : début du nom ou du prénom, une liste vide est retournée s'il est vide
+     * @param limit : nombre maximum de joueurs, borné entre 1 et MAX_PAGE_SIZE
+     *
+     * @return : retourne les joueurs trouvés, dans l'ordre alphabétique du nom ou prénom trouvé
+     */
+    public List<Player> searchPlayers(String prefix, int limit) {
+        log.debug("Recherche des joueurs commençant par : {}", prefix);
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        try {
+            return leaderboard.current().search(prefix.strip(), Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        } catch (DataAccessException e) {
+            log.error("Erreur lors de la recherche des joueurs", e);
+            throw new PlayerDataRetrievalException(e);
+        }
+    }
+
+    /**
+     * Recherche tolérante aux fautes de frappe sur le nom de famille ("Djokovich" retrouve "Djokovic")
+     * ! Servie par l'index de trigrammes du classement en mémoire, en temps borné quelle que soit la taille de la table
+     *
+     * @param name : nom de famille approché, une liste vide est retournée s'il est vide
+     * @param limit : nombre maximum de joueurs, borné entre 1 et MAX_PAGE_SIZE
+     *
+     * @return : retourne les joueurs dont le nom est le plus proche, du plus proche au moins proche
+     */
+    public List<Player> fuzzySearchPlayers(String name, int limit) {
+        log.debug("Recherche approchée des joueurs : {}", name);
+        if (name == null || name.isBlank()) {
+            return List.of();
+        }
+        try {
+            return leaderboard.fuzzySearch(name.strip(), Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        } catch (DataAccessException e) {
+            log.error("Erreur lors de la recherche approchée des joueurs", e);
+            throw new PlayerDataRetrievalException(e);
+        }
+    }
+
+    /**
+     * ! Si le joueur n'existe pas, les SUGGESTIONS noms les plus proches accompagnent l'exception
+     *
      * @param lastName : nom de famille du joueur
      * 
      * @return : retourne un joueur par son nom de famille
@@ -70,16 +296,15 @@ public class PlayerService {
     public Player getByLastName(String lastName) {
         log.info("Récupération du joueur : {}", lastName);
         try {
-            Optional<PlayerEntity> player = playerRepository.findOneByLastNameIgnoreCase(lastName);
+            Optional<Player> player = leaderboard.current().find(lastName);
             if (player.isEmpty()) {
                 log.warn("Joueur non trouvé : {}", lastName);
-                throw new PlayerNotFoundException(lastName);
+                List<String> suggestions = leaderboard.fuzzySearch(lastName, SUGGESTIONS).stream()
+                        .map(Player::lastName)
+                        .toList();
+                throw new PlayerNotFoundException(lastName, suggestions);
             }
-            return new Player(
-                    player.get().getFirstName(),
-                    player.get().getLastName(),
-                    player.get().getBirthDate(),
-                    new Rank(player.get().getRank(), player.get().getPoints()));
+            return player.get();
         } catch (DataAccessException e) {
             log.error("Erreur lors de la récupération du joueur", e);
             throw new PlayerDataRetrievalException(e);
@@ -91,26 +316,30 @@ public class PlayerService {
     public Player create(PlayerToSave playerToSave) {
         log.info("Création du joueur : {}", playerToSave.lastName());
         try {
-            Optional<PlayerEntity> player = playerRepository.findOneByLastNameIgnoreCase(playerToSave.lastName());
-            if (player.isPresent()) {
-                log.warn("Joueur à créer déjà existant : {}", playerToSave.lastName());
-                throw new PlayerAlreadyExistsException(playerToSave.lastName());
-            }
-
-            PlayerEntity playerToRegister = new PlayerEntity(
-                    playerToSave.lastName(),
-                    playerToSave.firstName(),
-                    playerToSave.birthDate(),
-                    playerToSave.points(),
-                    999999999);
+            PlayerEntity createdPlayer = rankingWriter.write(() -> {
+                Optional<PlayerEntity> player = playerRepository.findOneByLastNameIgnoreCase(playerToSave.lastName());
+                if (player.isPresent()) {
+                    log.warn("Joueur à créer déjà existant : {}", playerToSave.lastName());
+                    throw new PlayerAlreadyExistsException(playerToSave.lastName());
+                }
 
-            PlayerEntity registeredPlayer = playerRepository.save(playerToRegister);
+                PlayerEntity playerToRegister = new PlayerEntity(
+                        playerToSave.lastName(),
+                        playerToSave.firstName(),
+                        playerToSave.birthDate(),
+                        playerToSave.points(),
+                        999999999);
 
-            RankingCalculator rankingCalculator = new RankingCalculator(playerRepository.findAll());
-            List<PlayerEntity> newRanking = rankingCalculator.getNewPlayersRanking();
-            playerRepository.saveAll(newRanking);
-
-            return getByLastName(registeredPlayer.getLastName());
+                rankingEngine.addPlayer(playerToRegister);
+                leaderboard.playerSaved(playerToRegister);
+                return playerToRegister;
+            });
+            // Le classement est lu après le commit : dans un lot, il n'est définitif qu'en fin de lot
+            return toPlayer(createdPlayer);
+        } catch (DataIntegrityViolationException e) {
+            // Création concurrente du même joueur : l'index unique sur le nom de famille a refusé l'insertion
+            log.warn("Joueur à créer déjà existant : {}", playerToSave.lastName());
+            throw new PlayerAlreadyExistsException(playerToSave.lastName());
         } catch (DataAccessException e) {
             log.error("Erreur lors de la création du joueur", e);
             throw new PlayerDataRetrievalException(e);
@@ -119,47 +348,102 @@ public class PlayerService {
         }
     }
 
-    public Player update(PlayerToSave playerToSave) {
-        log.info("Mise à jour du joueur : {}", playerToSave.lastName());
-        try {
-        Optional<PlayerEntity> playerToUpdate = playerRepository.findOneByLastNameIgnoreCase(playerToSave.lastName());
-        if (playerToUpdate.isEmpty()) {
-            log.warn("Joueur à modifier non trouvé : {}", playerToSave.lastName());
-            throw new PlayerNotFoundException(playerToSave.lastName());
+    /**
+     * Import en lot : les INSERT sont envoyés en batch JDBC et le classement n'est calculé qu'une fois
+     * ! Le lot est refusé en entier si un nom de famille est en double dans le lot ou existe déjà en base
+     *
+     * @param playersToSave : joueurs à créer, au plus MAX_BATCH_SIZE
+     *
+     * @return : retourne les joueurs créés avec leur classement
+     * @throws BatchTooLargeException : exception si le lot dépasse MAX_BATCH_SIZE joueurs
+     * @throws PlayerAlreadyExistsException : exception si un des joueurs existe déjà
+     */
+    @Transactional
+    public List<Player> createAll(List<PlayerToSave> playersToSave) {
+        log.info("Création de {} joueurs", playersToSave.size());
+        if (playersToSave.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException("players", playersToSave.size(), MAX_BATCH_SIZE);
         }
+        try {
+            Set<String> lastNames = new HashSet<>();
+            for (PlayerToSave playerToSave : playersToSave) {
+                if (!lastNames.add(playerToSave.lastName().toUpperCase(Locale.ROOT))) {
+                    log.warn("Joueur en double dans le lot : {}", playerToSave.lastName());
+                    throw new PlayerAlreadyExistsException(playerToSave.lastName());
+                }
+            }
+            List<String> upperLastNames = List.copyOf(lastNames);
+            for (int from = 0; from < upperLastNames.size(); from += LAST_NAME_CHECK_CHUNK) {
+                List<String> chunk = upperLastNames.subList(from, Math.min(from + LAST_NAME_CHECK_CHUNK, upperLastNames.size()));
+                List<String> existing = playerRepository.findExistingLastNames(chunk);
+                if (!existing.isEmpty()) {
+                    log.warn("Joueur à créer déjà existant : {}", existing.get(0));
+                    throw new PlayerAlreadyExistsException(existing.get(0));
+                }
+            }
+
+            List<PlayerEntity> playersToRegister = playersToSave.stream()
+                    .map(playerToSave -> new PlayerEntity(
+                            playerToSave.lastName(),
+                            playerToSave.firstName(),
+                            playerToSave.birthDate(),
+                            playerToSave.points(),
+                            999999999))
+                    .toList();
 
-        playerToUpdate.get().setFirstName(playerToSave.firstName());
-        playerToUpdate.get().setBirthDate(playerToSave.birthDate());
-        playerToUpdate.get().setPoints(playerToSave.points());
-        PlayerEntity updatedPlayer = playerRepository.save(playerToUpdate.get());
+            rankingEngine.addPlayers(playersToRegister);
+            // Le recalcul invalide la photographie, mais l'index des noms approchés est conservé : il reçoit les nouveaux noms ici
+            leaderboard.playersSaved(playersToRegister);
+
+            return playersToRegister.stream().map(PlayerService::toPlayer).toList();
+        } catch (DataAccessException e) {
+            log.error("Erreur lors de la création des joueurs", e);
+            throw new PlayerDataRetrievalException(e);
+        } finally {
+            log.info("Joueurs créés : {}", playersToSave.size());
+        }
+    }
 
-        RankingCalculator rankingCalculator = new RankingCalculator(playerRepository.findAll());
-        List<PlayerEntity> newRanking = rankingCalculator.getNewPlayersRanking();
-        playerRepository.saveAll(newRanking);
+    public Player update(PlayerToSave playerToSave) {
+        log.info("Mise à jour du joueur : {}", playerToSave.lastName());
+        try {
+            PlayerEntity updatedPlayer = rankingWriter.write(() -> {
+                Optional<PlayerEntity> playerToUpdate = playerRepository.findOneByLastNameIgnoreCase(playerToSave.lastName());
+                if (playerToUpdate.isEmpty()) {
+                    log.warn("Joueur à modifier non trouvé : {}", playerToSave.lastName());
+                    throw new PlayerNotFoundException(playerToSave.lastName());
+                }
 
-        return getByLastName(updatedPlayer.getLastName());
+                playerToUpdate.get().setFirstName(playerToSave.firstName());
+                playerToUpdate.get().setBirthDate(playerToSave.birthDate());
+                rankingEngine.movePlayer(playerToUpdate.get(), playerToSave.points());
+                PlayerEntity savedPlayer = playerRepository.save(playerToUpdate.get());
+                leaderboard.playerSaved(savedPlayer);
+                return savedPlayer;
+            });
+            return toPlayer(updatedPlayer);
         } catch (DataAccessException e) {
-        log.error("Erreur lors de la mise à jour du joueur", e);
-        throw new PlayerDataRetrievalException(e);
+            log.error("Erreur lors de la mise à jour du joueur", e);
+            throw new PlayerDataRetrievalException(e);
         } finally {
-        log.info("Joueur mis à jour : {}", playerToSave.lastName());
+            log.info("Joueur mis à jour : {}", playerToSave.lastName());
         }
     }
 
     public void delete(String lastName) {
         log.info("Suppression du joueur : {}", lastName);
         try {
-            Optional<PlayerEntity> playerDelete = playerRepository.findOneByLastNameIgnoreCase(lastName);
-            if (playerDelete.isEmpty()) {
-                log.warn("Joueur à supprimer non trouvé : {}", lastName);
-                throw new PlayerNotFoundException(lastName);
-            }
-
-            playerRepository.delete(playerDelete.get());
+            rankingWriter.write(() -> {
+                Optional<PlayerEntity> playerDelete = playerRepository.findOneByLastNameIgnoreCase(lastName);
+                if (playerDelete.isEmpty()) {
+                    log.warn("Joueur à supprimer non trouvé : {}", lastName);
+                    throw new PlayerNotFoundException(lastName);
+                }
 
-            RankingCalculator rankingCalculator = new RankingCalculator(playerRepository.findAll());
-            List<PlayerEntity> newRanking = rankingCalculator.getNewPlayersRanking();
-            playerRepository.saveAll(newRanking);
+                rankingEngine.removePlayer(playerDelete.get());
+                leaderboard.playerRemoved(playerDelete.get().getLastName());
+                return null;
+            });
         } catch (DataAccessException e) {
             log.error("Erreur lors de la suppression du joueur", e);
             throw new PlayerDataRetrievalException(e);
@@ -167,4 +451,20 @@ public class PlayerService {
             log.info("Joueur supprimé : {}", lastName);
         }
     }
+
+    static Player toPlayer(PlayerEntity player) {
+        return new Player(
+                player.getFirstName(),
+                player.getLastName(),
+                player.getBirthDate(),
+                new Rank(player.getRank(), player.getPoints()));
+    }
+
+    static Player toPlayer(PlayerView player) {
+        return new Player(
+                player.firstName(),
+                player.lastName(),
+                player.birthDate(),
+                new Rank(player.rank(), player.points()));
+    }
 }
@@ -1,6 +1,7 @@
 package com.escanor1986.tennis.service;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import com.escanor1986.tennis.data.PlayerEntity;
@@ -21,7 +22,9 @@ import com.escanor1986.tennis.data.PlayerEntity;
     }
 
     public List<PlayerEntity> getNewPlayersRanking() {
-        currentPlayersRanking.sort((player1, player2) -> Integer.compare(player2.getPoints(), player1.getPoints()));
+        // À points égaux, l'identifiant le plus ancien est classé devant (même ordre que le RankingIndex)
+        currentPlayersRanking.sort(Comparator.comparing(PlayerEntity::getPoints).reversed()
+                .thenComparing(PlayerEntity::getId, Comparator.nullsLast(Comparator.naturalOrder())));
 
         List<PlayerEntity> updatedPlayers = new ArrayList<>();
         for (int i = 0; i < currentPlayersRanking.size(); i++) {
@@ -0,0 +1,275 @@
+package com.escanor1986.tennis.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.escanor1986.tennis.data.PlayerRankingEntry;
+import com.escanor1986.tennis.model.Rank;
+
+/**
+ * Encodage binaire d'une photographie du classement par différence avec la précédente
+ *
+ * Les joueurs sont répartis en paquets de BUCKET_SIZE identifiants consécutifs (bucket = id / BUCKET_SIZE).
+ * Un paquet ne contient que les joueurs modifiés, par identifiant croissant, chacun encodé en entiers de taille variable (varint) :
+ * - (écart avec l'identifiant précédent << 1) | 1 si le joueur a été supprimé
+ * - sinon la variation du classement puis celle des points (zigzag : les petites variations négatives restent sur un octet)
+ * Un joueur absent de la photographie précédente est encodé par rapport à (0, 0) : une photographie complète (keyframe)
+ * est simplement la différence avec une photographie vide.
+ *
+ * ! Les paquets étant triés, l'historique d'un joueur se lit sans décoder les autres joueurs au-delà de son identifiant
+ */
+public final class RankingDeltaCodec {
+
+    public static final int BUCKET_SIZE = 1024;
+
+    private RankingDeltaCodec() {
+    }
+
+    public static int bucketOf(long id) {
+        return (int) (id / BUCKET_SIZE);
+    }
+
+    /**
+     * Classement complet à un instant donné, trié par identifiant
+     */
+    public static final class State {
+
+        public static final State EMPTY = new State(new long[0], new int[0], new int[0], 0);
+
+        private final long[] ids;
+        private final int[] ranks;
+        private final int[] points;
+        private final int size;
+
+        private State(long[] ids, int[] ranks, int[] points, int size) {
+            this.ids = ids;
+            this.ranks = ranks;
+            this.points = points;
+            this.size = size;
+        }
+
+        // entries : triées par identifiant croissant
+        public static State of(List<PlayerRankingEntry> entries) {
+            int size = entries.size();
+            long[] ids = new long[size];
+            int[] ranks = new int[size];
+            int[] points = new int[size];
+            for (int i = 0; i < size; i++) {
+                PlayerRankingEntry entry = entries.get(i);
+                ids[i] = entry.id();
+                ranks[i] = entry.rank();
+                points[i] = entry.points();
+            }
+            return new State(ids, ranks, points, size);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return : retourne le classement du joueur, null s'il n'est pas classé
+         */
+        public Rank find(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return index >= 0 ? new Rank(ranks[index], points[index]) : null;
+        }
+    }
+
+    /**
+     * @return : retourne les paquets qui contiennent au moins un joueur modifié, par bucket croissant
+     */
+    public static SortedMap<Integer, byte[]> encode(State previous, State current) {
+        SortedMap<Integer, byte[]> chunks = new TreeMap<>();
+        ChunkWriter writer = null;
+        int i = 0;
+        int j = 0;
+        while (i < previous.size || j < current.size) {
+            long previousId = i < previous.size ? previous.ids[i] : Long.MAX_VALUE;
+            long currentId = j < current.size ? current.ids[j] : Long.MAX_VALUE;
+            long id = Math.min(previousId, currentId);
+            int bucket = bucketOf(id);
+            if (writer == null || writer.bucket != bucket) {
+                if (writer != null && writer.length > 0) {
+                    chunks.put(writer.bucket, writer.toByteArray());
+                }
+                writer = new ChunkWriter(bucket);
+            }
+            if (currentId > previousId) {
+                writer.removed(id);
+                i++;
+            } else if (previousId > currentId) {
+                writer.changed(id, current.ranks[j], current.points[j]);
+                j++;
+            } else {
+                int rankDelta = current.ranks[j] - previous.ranks[i];
+                int pointsDelta = current.points[j] - previous.points[i];
+                if (rankDelta != 0 || pointsDelta != 0) {
+                    writer.changed(id, rankDelta, pointsDelta);
+                }
+                i++;
+                j++;
+            }
+        }
+        if (writer != null && writer.length > 0) {
+            chunks.put(writer.bucket, writer.toByteArray());
+        }
+        return chunks;
+    }
+
+    /**
+     * Rejoue les paquets d'une photographie sur la précédente
+     *
+     * @param chunks : paquets de la photographie, par bucket croissant
+     * @return : retourne le classement complet de la photographie
+     */
+    public static State apply(State previous, SortedMap<Integer, byte[]> chunks) {
+        int capacity = previous.size;
+        for (byte[] data : chunks.values()) {
+            capacity += data.length;
+        }
+        long[] ids = new long[capacity];
+        int[] ranks = new int[capacity];
+        int[] points = new int[capacity];
+        int size = 0;
+        int i = 0;
+        for (Map.Entry<Integer, byte[]> chunk : chunks.entrySet()) {
+            ChunkReader reader = new ChunkReader(chunk.getKey(), chunk.getValue());
+            while (reader.next()) {
+                while (i < previous.size && previous.ids[i] < reader.id) {
+                    ids[size] = previous.ids[i];
+                    ranks[size] = previous.ranks[i];
+                    points[size++] = previous.points[i++];
+                }
+                int previousRank = 0;
+                int previousPoints = 0;
+                if (i < previous.size && previous.ids[i] == reader.id) {
+                    previousRank = previous.ranks[i];
+                    previousPoints = previous.points[i++];
+                }
+                if (!reader.removed) {
+                    ids[size] = reader.id;
+                    ranks[size] = previousRank + reader.rankDelta;
+                    points[size++] = previousPoints + reader.pointsDelta;
+                }
+            }
+        }
+        while (i < previous.size) {
+            ids[size] = previous.ids[i];
+            ranks[size] = previous.ranks[i];
+            points[size++] = previous.points[i++];
+        }
+        return new State(ids, ranks, points, size);
+    }
+
+    /**
+     * Rejoue un paquet pour un seul joueur : le décodage s'arrête dès que l'identifiant du joueur est dépassé
+     *
+     * @param previous : classement du joueur dans la photographie précédente, null s'il n'était pas classé
+     * @return : retourne le classement du joueur dans la photographie du paquet, null s'il n'est pas classé
+     */
+    public static Rank apply(Rank previous, int bucket, byte[] data, long id) {
+        ChunkReader reader = new ChunkReader(bucket, data);
+        while (reader.next() && reader.id <= id) {
+            if (reader.id == id) {
+                if (reader.removed) {
+                    return null;
+                }
+                int previousRank = previous != null ? previous.position() : 0;
+                int previousPoints = previous != null ? previous.points() : 0;
+                return new Rank(previousRank + reader.rankDelta, previousPoints + reader.pointsDelta);
+            }
+        }
+        return previous;
+    }
+
+    private static final class ChunkWriter {
+        private final int bucket;
+        private long lastId;
+        private byte[] buffer = new byte[64];
+        private int length;
+
+        private ChunkWriter(int bucket) {
+            this.bucket = bucket;
+            this.lastId = (long) bucket * BUCKET_SIZE - 1;
+        }
+
+        private void removed(long id) {
+            writeVarint(((id - lastId) << 1) | 1);
+            lastId = id;
+        }
+
+        private void changed(long id, int rankDelta, int pointsDelta) {
+            writeVarint((id - lastId) << 1);
+            writeVarint(zigzag(rankDelta));
+            writeVarint(zigzag(pointsDelta));
+            lastId = id;
+        }
+
+        private void writeVarint(long value) {
+            if (length + 10 > buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            while ((value & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+
+        private static long zigzag(int value) {
+            return Integer.toUnsignedLong((value << 1) ^ (value >> 31));
+        }
+    }
+
+    private static final class ChunkReader {
+        private final byte[] data;
+        private int offset;
+        private long id;
+        private boolean removed;
+        private int rankDelta;
+        private int pointsDelta;
+
+        private ChunkReader(int bucket, byte[] data) {
+            this.data = data;
+            this.id = (long) bucket * BUCKET_SIZE - 1;
+        }
+
+        private boolean next() {
+            if (offset >= data.length) {
+                return false;
+            }
+            long header = readVarint();
+            id += header >>> 1;
+            removed = (header & 1) != 0;
+            if (!removed) {
+                rankDelta = unzigzag(readVarint());
+                pointsDelta = unzigzag(readVarint());
+            }
+            return true;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = data[offset++];
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+            return value;
+        }
+
+        private static int unzigzag(long value) {
+            return (int) (value >>> 1) ^ -(int) (value & 1);
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.escanor1986.tennis.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.escanor1986.tennis.data.PlayerEntity;
+import com.escanor1986.tennis.data.PlayerRankingEntry;
+import com.escanor1986.tennis.data.PlayerRepository;
+import com.escanor1986.tennis.data.PlayerTableReloadedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Moteur de classement incrémental
+ * ! Au lieu de recalculer tout le classement à chaque écriture, seule la plage de positions
+ * ! réellement impactée est décalée en base, en une seule requête UPDATE :
+ * - insertion en position k : les positions [k, n] descendent d'une place
+ * - déplacement de i vers j : les positions entre i et j se décalent d'une place
+ * - suppression en position k : les positions [k + 1, n] remontent d'une place
+ *
+ * Les positions sont calculées par un RankingIndex construit à partir de la base au premier usage.
+ * ! C'est le moteur qui applique la modification du joueur : l'index doit être chargé avant,
+ * ! sinon le flush automatique de Hibernate lui ferait voir la modification en cours.
+ * Le verrou est conservé jusqu'à la fin de la transaction appelante : en cas de rollback,
+ * l'index est invalidé puis reconstruit depuis la base à la prochaine écriture.
+ *
+ * Un lot d'écritures (applyBatch) ne décale aucune plage : les positions sont tenues dans l'index
+ * puis un seul reRankBetween() réécrit en fin de lot les joueurs dont le classement a changé,
+ * sur la seule plage de positions couverte par les écritures du lot.
+ * Le lot ne publie pas de RankingRecomputedEvent : ses écritures publient leurs joueurs au Leaderboard,
+ * qui les lit après le commit avec leur position finale, et la photographie en mémoire reste valide.
+ *
+ * Chaque écriture est mesurée (timer tennis.ranking.update et compteur tennis.ranking.rows.rewritten,
+ * par opération) ainsi que la construction de l'index (timer tennis.ranking.load) : on distingue ainsi
+ * le coût de la lecture du classement de celui des requêtes qui le réécrivent.
+ *
+ * @param playerRepository : repository pour accéder à la base de données
+ * @param eventPublisher : publie un RankingRecomputedEvent après chaque recalcul complet (hors lot d'écritures)
+ * @param meterRegistry : registre Micrometer des métriques du classement
+ */
+@Component
+public class RankingEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(RankingEngine.class);
+
+    private final PlayerRepository playerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Timer loadTimer;
+    private final RankingIndex rankingIndex = new RankingIndex();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean loaded;
+    // Joueurs modifiés par le lot en cours, null hors d'un lot (protégé par le verrou)
+    private List<PlayerEntity> batchPlayers;
+    // Plage de positions couverte par les écritures du lot en cours (protégée par le verrou)
+    private int batchFromRank;
+    private int batchToRank;
+
+    public static final String UPDATE_TIMER = "tennis.ranking.update";
+    public static final String ROWS_REWRITTEN_COUNTER = "tennis.ranking.rows.rewritten";
+    public static final String LOAD_TIMER = "tennis.ranking.load";
+
+    public RankingEngine(PlayerRepository playerRepository, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.playerRepository = playerRepository;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.loadTimer = Timer.builder(LOAD_TIMER)
+                .description("Construction de l'index du classement depuis la base")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Enregistre un nouveau joueur et l'insère à sa position dans le classement
+     *
+     * @return : retourne le nombre de lignes dont le classement a été réécrit
+     */
+    public int addPlayer(PlayerEntity player) {
+        return mutate("add", () -> {
+            playerRepository.save(player);
+            int position = rankingIndex.insert(player.getId(), player.getPoints());
+            if (deferred(player, position, Integer.MAX_VALUE)) {
+                return 1;
+            }
+            int shifted = playerRepository.shiftRanks(position, Integer.MAX_VALUE, 1, player.getId());
+            player.setRank(position);
+            log.debug("Joueur {} inséré en position {}, {} classements décalés", player.getLastName(), position, shifted);
+            return shifted + 1;
+        });
+    }
+
+    /**
+     * Enregistre un lot de nouveaux joueurs avec une seule passe de classement
+     * ! Les identifiants viennent de la séquence sans insertion : chaque nouveau joueur reçoit sa position
+     * ! définitive avant le flush, les INSERT partent donc en batch JDBC avec le bon classement
+     * ! puis reRank() ne réécrit que les joueurs existants qui ont été décalés
+     *
+     * @return : retourne le nombre de lignes dont le classement a été écrit ou réécrit
+     */
+    public int addPlayers(List<PlayerEntity> players) {
+        return mutate("add_batch", () -> {
+            playerRepository.saveAll(players);
+            for (PlayerEntity player : players) {
+                rankingIndex.insert(player.getId(), player.getPoints());
+            }
+            for (PlayerEntity player : players) {
+                player.setRank(rankingIndex.positionOf(player.getId(), player.getPoints()));
+            }
+            int rewritten = playerRepository.reRank();
+            eventPublisher.publishEvent(new RankingRecomputedEvent(rewritten));
+            log.debug("{} joueurs insérés, {} classements existants réécrits", players.size(), rewritten);
+            return players.size() + rewritten;
+        });
+    }
+
+    /**
+     * Attribue de nouveaux points à un joueur et le repositionne dans le classement
+     *
+     * @param points : nouveaux points du joueur
+     * @return : retourne le nombre de lignes dont le classement a été réécrit
+     */
+    public int movePlayer(PlayerEntity player, int points) {
+        return mutate("move", () -> move(player, points));
+    }
+
+    /**
+     * Attribue de nouveaux points à plusieurs joueurs (par exemple les deux joueurs d'un match)
+     * ! Chaque déplacement décale sa propre plage : un décalage peut changer en base le classement
+     * ! d'un joueur déjà déplacé, son classement est donc relu dans l'index une fois tous les déplacements faits
+     *
+     * @param points : nouveaux points de chaque joueur
+     * @return : retourne le nombre de lignes dont le classement a été réécrit
+     */
+    public int movePlayers(Map<PlayerEntity, Integer> points) {
+        return mutate("move_many", () -> {
+            int rewritten = 0;
+            for (Map.Entry<PlayerEntity, Integer> entry : points.entrySet()) {
+                rewritten += move(entry.getKey(), entry.getValue());
+            }
+            if (batchPlayers == null) {
+                for (PlayerEntity player : points.keySet()) {
+                    player.setRank(rankingIndex.positionOf(player.getId(), player.getPoints()));
+                }
+            }
+            return rewritten;
+        });
+    }
+
+    /**
+     * Supprime un joueur et referme le trou laissé dans le classement
+     *
+     * @return : retourne le nombre de lignes dont le classement a été réécrit
+     */
+    public int removePlayer(PlayerEntity player) {
+        return mutate("remove", () -> {
+            int position = rankingIndex.remove(player.getId(), player.getPoints());
+            if (position == 0) {
+                throw new IllegalStateException("Player " + player.getId() + " is missing from the ranking index");
+            }
+            playerRepository.delete(player);
+            if (deferred(null, position, Integer.MAX_VALUE)) {
+                return 0;
+            }
+            int shifted = playerRepository.shiftRanks(position + 1, Integer.MAX_VALUE, -1, player.getId());
+            log.debug("Joueur {} retiré de la position {}, {} classements décalés", player.getLastName(), position, shifted);
+            return shifted;
+        });
+    }
+
+    /**
+     * Exécute un lot d'écritures (addPlayer, movePlayer, removePlayer) avec une seule passe de classement
+     * ! Aucune plage n'est décalée pendant le lot : chaque joueur modifié reçoit sa position finale
+     * ! depuis l'index, puis reRankBetween() réécrit en une requête les autres joueurs dont le classement a changé
+     * Seule la plage couverte par le lot est relue : de la plus petite à la plus grande position touchée par un déplacement,
+     * jusqu'à la fin du classement si le lot crée ou supprime un joueur (tous les suivants se décalent)
+     *
+     * @param mutations : écritures du lot, exécutées dans la transaction appelante
+     * @return : retourne le nombre de lignes dont le classement a été réécrit par la passe finale
+     */
+    public int applyBatch(Runnable mutations) {
+        return mutate("batch", () -> {
+            if (batchPlayers != null) {
+                throw new IllegalStateException("A ranking batch is already in progress");
+            }
+            batchPlayers = new ArrayList<>();
+            batchFromRank = Integer.MAX_VALUE;
+            batchToRank = 0;
+            try {
+                mutations.run();
+                for (PlayerEntity player : batchPlayers) {
+                    int position = rankingIndex.positionOf(player.getId(), player.getPoints());
+                    if (position > 0) {
+                        player.setRank(position);
+                    }
+                }
+                int rewritten = batchFromRank <= batchToRank ? playerRepository.reRankBetween(batchFromRank, batchToRank) : 0;
+                log.debug("Lot de {} écritures, {} classements réécrits entre les positions {} et {}",
+                        batchPlayers.size(), rewritten, batchFromRank, batchToRank);
+                return rewritten;
+            } finally {
+                batchPlayers = null;
+            }
+        });
+    }
+
+    /**
+     * Recalcule tout le classement en base en une seule requête puis reconstruit l'index
+     * À réserver aux traitements qui modifient beaucoup de joueurs à la fois
+     *
+     * @return : retourne le nombre de lignes dont le classement a été réécrit
+     */
+    public int recomputeAll() {
+        return mutate("recompute", () -> {
+            int rewritten = playerRepository.reRank();
+            eventPublisher.publishEvent(new RankingRecomputedEvent(rewritten));
+            load();
+            log.debug("Classement recalculé, {} classements réécrits", rewritten);
+            return rewritten;
+        });
+    }
+
+    /**
+     * La table a été rechargée hors de l'application (migration, nettoyage) : l'index sera reconstruit
+     */
+    @EventListener
+    public void onPlayerTableReloaded(PlayerTableReloadedEvent event) {
+        lock.lock();
+        try {
+            loaded = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // operation : étiquette des métriques (add, add_batch, move, move_many, remove, batch, recompute)
+    private int mutate(String operation, IntSupplier mutation) {
+        lock.lock();
+        boolean releasedOnCompletion = false;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            releasedOnCompletion = releaseOnTransactionCompletion();
+            if (!loaded) {
+                load();
+            }
+            int rewritten = mutation.getAsInt();
+            sample.stop(Timer.builder(UPDATE_TIMER)
+                    .description("Mise à jour du classement, attente du verrou comprise")
+                    .tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            Counter.builder(ROWS_REWRITTEN_COUNTER)
+                    .description("Lignes dont le classement a été écrit en base")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .increment(rewritten);
+            return rewritten;
+        } catch (RuntimeException e) {
+            loaded = false;
+            throw e;
+        } finally {
+            if (!releasedOnCompletion) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private int move(PlayerEntity player, int points) {
+        int previousPoints = player.getPoints();
+        player.setPoints(points);
+        int from = rankingIndex.remove(player.getId(), previousPoints);
+        if (from == 0) {
+            throw new IllegalStateException("Player " + player.getId() + " is missing from the ranking index");
+        }
+        int to = rankingIndex.insert(player.getId(), player.getPoints());
+        if (deferred(player, Math.min(from, to), Math.max(from, to))) {
+            return 1;
+        }
+        int shifted = 0;
+        if (to < from) {
+            shifted = playerRepository.shiftRanks(to, from - 1, 1, player.getId());
+        } else if (to > from) {
+            shifted = playerRepository.shiftRanks(from + 1, to, -1, player.getId());
+        }
+        player.setRank(to);
+        log.debug("Joueur {} déplacé de la position {} à {}, {} classements décalés", player.getLastName(), from, to, shifted);
+        return shifted + 1;
+    }
+
+    // Dans un lot, le joueur sera positionné en fin de lot : aucun décalage immédiat, seule la plage [fromRank, toRank]
+    // est ajoutée à celle que la passe finale réécrira (player null : joueur supprimé, rien à positionner)
+    private boolean deferred(PlayerEntity player, int fromRank, int toRank) {
+        if (batchPlayers == null) {
+            return false;
+        }
+        if (player != null) {
+            batchPlayers.add(player);
+        }
+        batchFromRank = Math.min(batchFromRank, fromRank);
+        batchToRank = Math.max(batchToRank, toRank);
+        return true;
+    }
+
+    private boolean releaseOnTransactionCompletion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    loaded = false;
+                }
+                lock.unlock();
+            }
+        });
+        return true;
+    }
+
+    // Construit l'index depuis la base et vérifie que les classements stockés sont cohérents
+    private void load() {
+        loadTimer.record(this::loadIndex);
+    }
+
+    private void loadIndex() {
+        List<PlayerRankingEntry> entries = playerRepository.findAllRankingEntries();
+        rankingIndex.clear();
+        boolean consistent = true;
+        for (PlayerRankingEntry entry : entries) {
+            int position = rankingIndex.insert(entry.id(), entry.points());
+            consistent &= entry.rank() == position;
+        }
+        if (!consistent) {
+            int rewritten = playerRepository.reRank();
+            eventPublisher.publishEvent(new RankingRecomputedEvent(rewritten));
+            log.warn("Classement incohérent en base, {} joueurs reclassés sur {}", rewritten, entries.size());
+        }
+        loaded = true;
+        log.info("Index du classement construit : {} joueurs", rankingIndex.size());
+    }
+}
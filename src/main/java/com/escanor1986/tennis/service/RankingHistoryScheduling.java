@@ -0,0 +1,15 @@
+package com.escanor1986.tennis.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active l'enregistrement planifié des photographies du classement (RankingHistoryService.captureScheduled)
+ * ! Désactivé si tennis.ranking.history.enabled n'est pas à true : une seule instance doit enregistrer l'historique
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "tennis.ranking.history.enabled", havingValue = "true")
+public class RankingHistoryScheduling {
+}
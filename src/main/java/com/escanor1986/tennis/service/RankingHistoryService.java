@@ -0,0 +1,241 @@
+package com.escanor1986.tennis.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.escanor1986.tennis.data.PlayerEntity;
+import com.escanor1986.tennis.data.PlayerRepository;
+import com.escanor1986.tennis.data.PlayerTableReloadedEvent;
+import com.escanor1986.tennis.data.RankingSnapshotChunkEntity;
+import com.escanor1986.tennis.data.RankingSnapshotChunkRepository;
+import com.escanor1986.tennis.data.RankingSnapshotEntity;
+import com.escanor1986.tennis.data.RankingSnapshotRepository;
+import com.escanor1986.tennis.model.Rank;
+import com.escanor1986.tennis.model.RankHistoryEntry;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Historique du classement : photographies enregistrées à intervalle régulier (tennis.ranking.history.cron)
+ * ! Chaque photographie ne stocke que les joueurs modifiés depuis la précédente (RankingDeltaCodec),
+ * ! toutes les keyframeInterval photographies, une photographie complète borne la longueur du rejeu
+ *
+ * L'historique d'un joueur ne lit que les paquets de sa plage d'identifiants, depuis la dernière photographie complète
+ * qui précède la période demandée : dix ans de photographies hebdomadaires représentent au plus 520 petits paquets.
+ * L'état de la dernière photographie est gardé en mémoire pour encoder la suivante sans relire l'historique.
+ *
+ * Métriques : tennis.ranking.history.capture (durée d'une photographie), tennis.ranking.history.snapshot.bytes (taille encodée)
+ *
+ * @param playerRepository : repository pour lire le classement courant
+ * @param snapshotRepository : repository des photographies
+ * @param chunkRepository : repository des paquets des photographies
+ * @param transactionManager : transaction de chaque photographie
+ * @param keyframeInterval : nombre de photographies entre deux photographies complètes
+ *
+ * @return : retourne le classement d'un joueur dans chaque photographie d'une période
+ */
+@Service
+public class RankingHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(RankingHistoryService.class);
+
+    private final PlayerRepository playerRepository;
+    private final RankingSnapshotRepository snapshotRepository;
+    private final RankingSnapshotChunkRepository chunkRepository;
+    private final TransactionTemplate transaction;
+    private final int keyframeInterval;
+    private final Timer captureTimer;
+    private final DistributionSummary snapshotBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    // État de la dernière photographie et nombre de photographies depuis la dernière complète (protégés par le verrou)
+    private RankingDeltaCodec.State lastState;
+    private int sinceKeyframe;
+
+    public static final String CAPTURE_TIMER = "tennis.ranking.history.capture";
+    public static final String SNAPSHOT_BYTES = "tennis.ranking.history.snapshot.bytes";
+
+    public RankingHistoryService(PlayerRepository playerRepository, RankingSnapshotRepository snapshotRepository,
+            RankingSnapshotChunkRepository chunkRepository, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${tennis.ranking.history.keyframe-interval:52}") int keyframeInterval) {
+        this.playerRepository = playerRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.chunkRepository = chunkRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.keyframeInterval = Math.max(keyframeInterval, 1);
+        this.captureTimer = Timer.builder(CAPTURE_TIMER)
+                .description("Enregistrement d'une photographie du classement")
+                .register(meterRegistry);
+        this.snapshotBytes = DistributionSummary.builder(SNAPSHOT_BYTES)
+                .description("Taille encodée d'une photographie du classement")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // Déclenché uniquement si la planification est activée (RankingHistoryScheduling)
+    @Scheduled(cron = "${tennis.ranking.history.cron:0 0 0 * * MON}", zone = "UTC")
+    public void captureScheduled() {
+        try {
+            capture(Instant.now());
+        } catch (DataAccessException e) {
+            log.error("Erreur lors de l'enregistrement de la photographie du classement", e);
+        }
+    }
+
+    /**
+     * Enregistre une photographie du classement courant
+     *
+     * @param takenAt : date de la photographie
+     */
+    public void capture(Instant takenAt) {
+        lock.lock();
+        try {
+            captureTimer.record(() -> {
+                RankingDeltaCodec.State previous = lastState;
+                lastState = transaction.execute(status -> {
+                    RankingDeltaCodec.State base = previous != null ? previous : loadLastState();
+                    RankingDeltaCodec.State state = RankingDeltaCodec.State.of(playerRepository.findAllRankingEntriesById());
+                    boolean keyframe = base == null || sinceKeyframe + 1 >= keyframeInterval;
+                    SortedMap<Integer, byte[]> chunks = RankingDeltaCodec.encode(keyframe ? RankingDeltaCodec.State.EMPTY : base, state);
+
+                    RankingSnapshotEntity snapshot = snapshotRepository.save(new RankingSnapshotEntity(takenAt, keyframe, state.size()));
+                    List<RankingSnapshotChunkEntity> entities = new ArrayList<>(chunks.size());
+                    long bytes = 0;
+                    for (Map.Entry<Integer, byte[]> chunk : chunks.entrySet()) {
+                        entities.add(new RankingSnapshotChunkEntity(snapshot.getId(), chunk.getKey(), chunk.getValue()));
+                        bytes += chunk.getValue().length;
+                    }
+                    chunkRepository.saveAll(entities);
+                    snapshotBytes.record(bytes);
+                    sinceKeyframe = keyframe ? 0 : sinceKeyframe + 1;
+                    log.info("Photographie du classement enregistrée : {} joueurs, {} paquets, {} octets{}",
+                            state.size(), chunks.size(), bytes, keyframe ? " (complète)" : "");
+                    return state;
+                });
+            });
+        } catch (RuntimeException e) {
+            // Transaction annulée : l'état sera relu depuis la base à la prochaine photographie
+            lastState = null;
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Classement d'un joueur dans chaque photographie de la période, rejoué depuis la photographie complète qui la précède
+     *
+     * @param from : premier jour de la période, null pour le début de l'historique
+     * @param to : dernier jour de la période, null pour aujourd'hui
+     *
+     * @return : retourne le classement du joueur dans chaque photographie où il était classé, de la plus ancienne à la plus récente
+     * @throws PlayerNotFoundException : exception si le joueur n'existe pas
+     * @throws InvalidPlayerRangeException : exception si from est postérieur à to
+     */
+    @Transactional(readOnly = true)
+    public List<RankHistoryEntry> getHistory(String lastName, LocalDate from, LocalDate to) {
+        log.info("Récupération de l'historique du joueur : {}", lastName);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidPlayerRangeException("date", from, to);
+        }
+        try {
+            PlayerEntity player = playerRepository.findOneByLastNameIgnoreCase(lastName).orElseThrow(() -> {
+                log.warn("Joueur non trouvé : {}", lastName);
+                return new PlayerNotFoundException(lastName);
+            });
+            Instant fromInstant = from != null ? from.atStartOfDay(ZoneOffset.UTC).toInstant() : Instant.MIN;
+            Instant toInstant = to != null ? to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().minusNanos(1) : Instant.now();
+
+            // Sans photographie complète avant la période, le rejeu part de la première
+            Optional<RankingSnapshotEntity> keyframeBefore = from != null
+                    ? snapshotRepository.findFirstByKeyframeTrueAndTakenAtLessThanEqualOrderByIdDesc(fromInstant)
+                    : Optional.empty();
+            RankingSnapshotEntity keyframe = keyframeBefore.or(snapshotRepository::findFirstByKeyframeTrueOrderByIdAsc).orElse(null);
+            if (keyframe == null) {
+                return List.of();
+            }
+            List<RankingSnapshotEntity> snapshots = snapshotRepository.findAllByIdGreaterThanEqualAndTakenAtLessThanEqualOrderByIdAsc(keyframe.getId(), toInstant);
+            if (snapshots.isEmpty()) {
+                return List.of();
+            }
+
+            int bucket = RankingDeltaCodec.bucketOf(player.getId());
+            Map<Long, byte[]> chunks = new TreeMap<>();
+            for (RankingSnapshotChunkEntity chunk : chunkRepository.findAllByBucketAndSnapshotIdBetweenOrderBySnapshotIdAsc(
+                    bucket, keyframe.getId(), snapshots.get(snapshots.size() - 1).getId())) {
+                chunks.put(chunk.getSnapshotId(), chunk.getData());
+            }
+
+            List<RankHistoryEntry> history = new ArrayList<>();
+            Rank rank = null;
+            for (RankingSnapshotEntity snapshot : snapshots) {
+                byte[] data = chunks.get(snapshot.getId());
+                if (snapshot.isKeyframe()) {
+                    rank = null;
+                }
+                if (data != null) {
+                    rank = RankingDeltaCodec.apply(rank, bucket, data, player.getId());
+                }
+                if (rank != null && !snapshot.getTakenAt().isBefore(fromInstant)) {
+                    history.add(new RankHistoryEntry(snapshot.getTakenAt(), rank));
+                }
+            }
+            return history;
+        } catch (DataAccessException e) {
+            log.error("Erreur lors de la récupération de l'historique du joueur", e);
+            throw new PlayerDataRetrievalException(e);
+        }
+    }
+
+    // Les tables ont été rechargées (migration, nettoyage) : l'état de la dernière photographie sera relu
+    @EventListener
+    public void onPlayerTableReloaded(PlayerTableReloadedEvent event) {
+        lock.lock();
+        try {
+            lastState = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Rejoue les photographies depuis la dernière complète, null si l'historique est vide
+    private RankingDeltaCodec.State loadLastState() {
+        RankingSnapshotEntity keyframe = snapshotRepository.findFirstByKeyframeTrueOrderByIdDesc().orElse(null);
+        if (keyframe == null) {
+            sinceKeyframe = 0;
+            return null;
+        }
+        List<RankingSnapshotEntity> snapshots = snapshotRepository.findAllByIdGreaterThanEqualOrderByIdAsc(keyframe.getId());
+        Map<Long, SortedMap<Integer, byte[]>> chunks = new TreeMap<>();
+        for (RankingSnapshotChunkEntity chunk : chunkRepository.findAllBySnapshotIdGreaterThanEqualOrderBySnapshotIdAscBucketAsc(keyframe.getId())) {
+            chunks.computeIfAbsent(chunk.getSnapshotId(), id -> new TreeMap<>()).put(chunk.getBucket(), chunk.getData());
+        }
+        RankingDeltaCodec.State state = RankingDeltaCodec.State.EMPTY;
+        for (RankingSnapshotEntity snapshot : snapshots) {
+            state = RankingDeltaCodec.apply(state, chunks.getOrDefault(snapshot.getId(), new TreeMap<>()));
+        }
+        sinceKeyframe = snapshots.size() - 1;
+        log.info("État de la dernière photographie reconstruit : {} joueurs, {} photographies rejouées", state.size(), snapshots.size());
+        return state;
+    }
+}
@@ -0,0 +1,142 @@
+package com.escanor1986.tennis.service;
+
+import java.util.SplittableRandom;
+
+/**
+ * Structure d'ordre statistique (treap augmenté de la taille des sous-arbres)
+ * qui maintient l'ordre du classement en mémoire.
+ *
+ * Les clés sont triées par points décroissants puis par identifiant croissant,
+ * ce qui correspond exactement à la position d'un joueur dans le classement.
+ * Insertion, suppression et calcul d'une position se font en O(log n).
+ *
+ * ! Cette classe n'est pas thread-safe : c'est le RankingEngine qui en protège l'accès
+ */
+public class RankingIndex {
+
+    private static final class Node {
+        private final long id;
+        private final int points;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long id, int points, int priority) {
+            this.id = id;
+            this.points = points;
+            this.priority = priority;
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    public int size() {
+        return size(root);
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * @return : retourne la position (à partir de 1) occupée par le joueur inséré
+     */
+    public int insert(long id, int points) {
+        Node[] parts = split(root, id, points);
+        int position = size(parts[0]) + 1;
+        root = merge(merge(parts[0], new Node(id, points, random.nextInt())), parts[1]);
+        return position;
+    }
+
+    /**
+     * @return : retourne la position qu'occupait le joueur supprimé, 0 s'il n'était pas indexé
+     */
+    public int remove(long id, int points) {
+        int position = positionOf(id, points);
+        if (position > 0) {
+            root = remove(root, id, points);
+        }
+        return position;
+    }
+
+    /**
+     * @return : retourne la position (à partir de 1) du joueur, 0 s'il n'est pas indexé
+     */
+    public int positionOf(long id, int points) {
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int comparison = compare(id, points, node);
+            if (comparison == 0) {
+                return before + size(node.left) + 1;
+            }
+            if (comparison < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return 0;
+    }
+
+    // Négatif si la clé (id, points) est classée avant le noeud
+    private static int compare(long id, int points, Node node) {
+        int comparison = Integer.compare(node.points, points);
+        return comparison != 0 ? comparison : Long.compare(id, node.id);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    // Sépare l'arbre en [clés classées avant (id, points)] et [clés restantes]
+    private static Node[] split(Node node, long id, int points) {
+        if (node == null) {
+            return new Node[] { null, null };
+        }
+        if (compare(id, points, node) > 0) {
+            Node[] parts = split(node.right, id, points);
+            node.right = parts[0];
+            return new Node[] { update(node), parts[1] };
+        }
+        Node[] parts = split(node.left, id, points);
+        node.left = parts[1];
+        return new Node[] { parts[0], update(node) };
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node remove(Node node, long id, int points) {
+        int comparison = compare(id, points, node);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = remove(node.left, id, points);
+        } else {
+            node.right = remove(node.right, id, points);
+        }
+        return update(node);
+    }
+}
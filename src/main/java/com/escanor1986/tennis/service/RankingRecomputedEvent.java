@@ -0,0 +1,9 @@
+package com.escanor1986.tennis.service;
+
+/**
+ * Événement publié lorsque le classement a été recalculé en masse en base
+ *
+ * @param rewrittenRanks : nombre de lignes dont le classement a changé
+ */
+public record RankingRecomputedEvent(int rewrittenRanks) {
+}
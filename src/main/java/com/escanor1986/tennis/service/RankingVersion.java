@@ -0,0 +1,12 @@
+package com.escanor1986.tennis.service;
+
+import java.time.Instant;
+
+/**
+ * Version du classement exposée aux clients pour les requêtes conditionnelles (If-None-Match, If-Modified-Since)
+ *
+ * @param eTag : identifiant fort de la version, change à chaque écriture validée et à chaque redémarrage
+ * @param lastModified : instant de la dernière modification du classement
+ */
+public record RankingVersion(String eTag, Instant lastModified) {
+}
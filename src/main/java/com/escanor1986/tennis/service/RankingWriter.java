@@ -0,0 +1,233 @@
+package com.escanor1986.tennis.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Rédacteur unique du classement : toutes les écritures de joueurs passent par un seul thread
+ * ! Les écritures arrivées pendant qu'un lot s'exécute, ou dans la fenêtre qui suit la première,
+ * ! sont regroupées dans une seule transaction et une seule passe de classement (RankingEngine.applyBatch) :
+ * ! une rafale de N écritures coûte un commit et une passe de classement au lieu de N
+ *
+ * Une écriture seule garde le chemin incrémental (décalage de la seule plage impactée).
+ * Une écriture refusée (joueur introuvable, déjà existant) n'échoue que pour son appelant.
+ * Toute autre erreur annule le lot, dont les écritures sont alors rejouées une par une.
+ * Les appelants attendent la fin du lot : chaque écriture s'exécute dans la transaction du rédacteur,
+ * pas dans celle de l'appelant. L'attente est bornée par timeout ; une écriture que le rédacteur ne peut plus exécuter
+ * (arrêt, thread du rédacteur terminé par une Error) échoue au lieu de bloquer son appelant.
+ *
+ * Métrique : tennis.ranking.writer.batch.size (nombre d'écritures par lot)
+ *
+ * @param transactionManager : transaction de chaque lot
+ * @param rankingEngine : moteur de classement
+ * @param window : attente maximale d'autres écritures après la première d'un lot
+ * @param maxBatchSize : nombre maximum d'écritures par lot
+ * @param timeout : attente maximale d'un appelant, et du rédacteur à l'arrêt
+ */
+@Component
+public class RankingWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RankingWriter.class);
+
+    private record PendingWrite(Supplier<?> mutation, CompletableFuture<Object> result) {
+    }
+
+    private final TransactionTemplate transaction;
+    private final RankingEngine rankingEngine;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final DistributionSummary batchSizes;
+    private final BlockingQueue<PendingWrite> pending = new LinkedBlockingQueue<>();
+    private volatile Thread writer;
+
+    public RankingWriter(PlatformTransactionManager transactionManager, RankingEngine rankingEngine, MeterRegistry meterRegistry,
+            @Value("${tennis.ranking.writer.window:2ms}") Duration window,
+            @Value("${tennis.ranking.writer.max-batch-size:256}") int maxBatchSize,
+            @Value("${tennis.ranking.writer.timeout:30s}") Duration timeout) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.rankingEngine = rankingEngine;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = timeout;
+        this.batchSizes = DistributionSummary.builder("tennis.ranking.writer.batch.size")
+                .description("Nombre d'écritures regroupées dans une passe de classement")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Exécute une écriture dans un lot du rédacteur et attend la fin du lot
+     * Sans rédacteur démarré (tests unitaires, arrêt) ou depuis le rédacteur lui-même, l'écriture s'exécute directement
+     *
+     * @return : retourne le résultat de l'écriture, une fois le lot validé
+     * @throws RankingWriterUnavailableException : exception si le rédacteur s'est arrêté avant l'écriture
+     * ou ne l'a pas terminée dans le délai
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T write(Supplier<T> mutation) {
+        Thread current = writer;
+        if (current == null || current == Thread.currentThread()) {
+            return transaction.execute(status -> mutation.get());
+        }
+        PendingWrite write = new PendingWrite(mutation, new CompletableFuture<>());
+        pending.add(write);
+        // Arrêté entre la lecture de writer et l'ajout : la dernière vidange de la file a pu passer avant,
+        // l'écriture reprise dans la file s'exécute directement (sinon la vidange ou stop() la termine)
+        if (writer == null && pending.remove(write)) {
+            return transaction.execute(status -> mutation.get());
+        }
+        try {
+            return (T) write.result().get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            pending.remove(write);
+            throw new RankingWriterUnavailableException(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.remove(write);
+            throw new RankingWriterUnavailableException();
+        }
+    }
+
+    @Override
+    public void start() {
+        Thread thread = new Thread(this::drain, "ranking-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = writer;
+        writer = null;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(timeout.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Écritures que le rédacteur n'a pas reprises à temps : leurs appelants échouent au lieu d'attendre
+        failPending();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    private void drain() {
+        List<PendingWrite> batch = new ArrayList<>();
+        boolean stopped = false;
+        try {
+            while (writer == Thread.currentThread()) {
+                try {
+                    batch.add(pending.take());
+                    pending.drainTo(batch, maxBatchSize - batch.size());
+                    long deadline = System.nanoTime() + window.toNanos();
+                    while (batch.size() < maxBatchSize) {
+                        PendingWrite next = pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                execute(batch);
+                batch.clear();
+            }
+            // Arrêt : les écritures encore en attente sont exécutées avant de rendre la main
+            pending.drainTo(batch);
+            batch.forEach(this::executeAlone);
+            stopped = true;
+        } finally {
+            // Thread terminé par une Error : les écritures suivantes s'exécutent directement,
+            // celles du lot en cours et de la file échouent (sans effet sur les écritures déjà terminées)
+            if (!stopped) {
+                writer = null;
+                log.error("Rédacteur du classement arrêté, les écritures s'exécutent désormais directement");
+                batch.forEach(write -> write.result().completeExceptionally(new RankingWriterUnavailableException()));
+                failPending();
+            }
+        }
+    }
+
+    private void failPending() {
+        List<PendingWrite> queued = new ArrayList<>();
+        pending.drainTo(queued);
+        queued.forEach(write -> write.result().completeExceptionally(new RankingWriterUnavailableException()));
+    }
+
+    private void execute(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchSizes.record(batch.size());
+        if (batch.size() == 1) {
+            executeAlone(batch.get(0));
+            return;
+        }
+        Object[] results = new Object[batch.size()];
+        RuntimeException[] refusals = new RuntimeException[batch.size()];
+        try {
+            transaction.executeWithoutResult(status -> rankingEngine.applyBatch(() -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    try {
+                        results[i] = batch.get(i).mutation().get();
+                    } catch (PlayerNotFoundException | PlayerAlreadyExistsException e) {
+                        // Refus levé avant toute écriture : seul l'appelant concerné échoue
+                        refusals[i] = e;
+                    }
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Lot de {} écritures annulé, nouvelle tentative une par une", batch.size(), e);
+            batch.forEach(this::executeAlone);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (refusals[i] != null) {
+                batch.get(i).result().completeExceptionally(refusals[i]);
+            } else {
+                batch.get(i).result().complete(results[i]);
+            }
+        }
+        log.debug("Lot de {} écritures validé en une passe de classement", batch.size());
+    }
+
+    private void executeAlone(PendingWrite write) {
+        try {
+            write.result().complete(transaction.execute(status -> write.mutation().get()));
+        } catch (RuntimeException e) {
+            write.result().completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.escanor1986.tennis.service;
+
+import java.time.Duration;
+
+/**
+ * Exception levée quand le rédacteur du classement n'a pas exécuté une écriture :
+ * il s'est arrêté avec l'écriture encore en attente, ou ne l'a pas terminée dans le délai imparti
+ */
+public class RankingWriterUnavailableException extends RuntimeException {
+    public RankingWriterUnavailableException() {
+        super("Ranking writer is stopped, please retry later.");
+    }
+
+    public RankingWriterUnavailableException(Duration timeout) {
+        super("Ranking writer did not complete the write within " + timeout.toMillis() + " ms, please check the ranking before retrying.");
+    }
+}
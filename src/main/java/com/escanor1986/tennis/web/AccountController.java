@@ -6,8 +6,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,38 +17,61 @@ import org.springframework.security.web.context.HttpSessionSecurityContextReposi
 import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.web.bind.annotation.*;
 
+import com.escanor1986.tennis.model.AccessToken;
 import com.escanor1986.tennis.model.UserCredentials;
+import com.escanor1986.tennis.security.PasswordHashingExecutor;
+import com.escanor1986.tennis.security.TokenService;
+
+import java.util.concurrent.CompletableFuture;
 
 @Tag(name = "Accounts API")
 @RestController
 @RequestMapping("/accounts")
 public class AccountController {
 
-    private final AuthenticationManagerBuilder authenticationManagerBuilder;
+    private final AuthenticationManager authenticationManager;
+
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     private final SecurityContextRepository securityContextRepository = new HttpSessionSecurityContextRepository();
 
     private final SecurityContextLogoutHandler securityContextLogoutHandler = new SecurityContextLogoutHandler();
 
-    AccountController(AuthenticationManagerBuilder authenticationManagerBuilder) {
-        this.authenticationManagerBuilder = authenticationManagerBuilder;
+    // Présent uniquement en mode sans état (tennis.security.token.enabled=true)
+    private final ObjectProvider<TokenService> tokenService;
+
+    AccountController(AuthenticationManager authenticationManager, PasswordHashingExecutor passwordHashingExecutor,
+            ObjectProvider<TokenService> tokenService) {
+        this.authenticationManager = authenticationManager;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.tokenService = tokenService;
     }
 
     @Operation(summary = "Authenticates user", description = "Authenticates user")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "User is logged in."),
+            @ApiResponse(responseCode = "200", description = "User is logged in. In stateless mode, the body holds the bearer token."),
             @ApiResponse(responseCode = "403", description = "User credentials are not valid."),
-            @ApiResponse(responseCode = "400", description = "Login or password is not provided.")
+            @ApiResponse(responseCode = "400", description = "Login or password is not provided."),
+            @ApiResponse(responseCode = "503", description = "Too many logins in progress.")
     })
     @PostMapping("/login")
     // @RequestBody : Indique que les données de la requête HTTP doivent être désérialisées en objet UserCredentials
     // @Valid : Indique à Spring de valider les données de la requête en utilisant les annotations de validation de l'objet UserCredentials
-    public void login(@RequestBody @Valid UserCredentials credentials, HttpServletRequest request, HttpServletResponse response) {
+    // Mode sans état : retourne un jeton signé au lieu d'enregistrer l'authentification dans la session HTTP
+    // La vérification du mot de passe (BCrypt) s'exécute sur le pool dédié : le thread Tomcat est libéré pendant le hachage
+    public CompletableFuture<AccessToken> login(@RequestBody @Valid UserCredentials credentials, HttpServletRequest request, HttpServletResponse response) {
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(credentials.login(), credentials.password());
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
-        SecurityContext securityContext = SecurityContextHolder.getContext();
-        securityContext.setAuthentication(authentication);
-        securityContextRepository.saveContext(securityContext, request, response);
+        return passwordHashingExecutor.submit(() -> {
+            Authentication authentication = authenticationManager.authenticate(authenticationToken);
+            TokenService statelessTokenService = tokenService.getIfAvailable();
+            if (statelessTokenService != null) {
+                return statelessTokenService.issue(authentication);
+            }
+            SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+            securityContext.setAuthentication(authentication);
+            securityContextRepository.saveContext(securityContext, request, response);
+            return null;
+        });
     }
 
     @Operation(summary = "Logs off authenticated user", description = "Logs off authenticated user")
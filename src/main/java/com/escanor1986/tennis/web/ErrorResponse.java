@@ -1,5 +1,9 @@
 package com.escanor1986.tennis.web;
 
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * Classe qui définit la structure standardisée des réponses d'erreur de l'API
  * 
@@ -12,6 +16,10 @@ public class ErrorResponse {
     // Champ attendu par les tests via jsonPath("$.errorDetails")
     private String errorDetails;
 
+    // Noms proches proposés quand un joueur n'est pas trouvé, absent du JSON si vide
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> suggestions = List.of();
+
     // Constructeur par défaut nécessaire pour la désérialisation JSON
     public ErrorResponse() {
     }
@@ -21,6 +29,12 @@ public class ErrorResponse {
         this.errorDetails = errorDetails;
     }
 
+    // Constructeur avec le message d'erreur et les suggestions
+    public ErrorResponse(String errorDetails, List<String> suggestions) {
+        this.errorDetails = errorDetails;
+        this.suggestions = suggestions;
+    }
+
     // Getters et setters nécessaires pour la sérialisation JSON
     public String getErrorDetails() {
         return errorDetails;
@@ -29,4 +43,12 @@ public class ErrorResponse {
     public void setErrorDetails(String errorDetails) {
         this.errorDetails = errorDetails;
     }
+
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(List<String> suggestions) {
+        this.suggestions = suggestions;
+    }
 }
@@ -1,10 +1,27 @@
 package com.escanor1986.tennis.web;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import com.escanor1986.tennis.security.LoginCapacityExceededException;
+import com.escanor1986.tennis.service.BatchTooLargeException;
+import com.escanor1986.tennis.service.InvalidMatchResultException;
+import com.escanor1986.tennis.service.InvalidPlayerCursorException;
+import com.escanor1986.tennis.service.InvalidPlayerRangeException;
 import com.escanor1986.tennis.service.PlayerNotFoundException;
+import com.escanor1986.tennis.service.RankingWriterUnavailableException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.validation.method.ParameterErrors;
+import org.springframework.validation.method.ParameterValidationResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 /**
@@ -28,8 +45,145 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     @ExceptionHandler(PlayerNotFoundException.class)
     public ResponseEntity<ErrorResponse> handlePlayerNotFoundException(PlayerNotFoundException ex) {
         // Création d'une structure d'erreur avec le message de l'exception
-        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage());
+        // Les noms proches éventuels sont ajoutés au corps (champ "suggestions")
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage(), ex.getSuggestions());
         // Retourne une réponse HTTP 404 avec le corps JSON structuré
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
+
+    /**
+     * Gère les exceptions InvalidPlayerCursorException
+     *
+     * @param ex L'exception capturée
+     * @return Une réponse HTTP 400 avec un corps JSON structuré
+     */
+    @ExceptionHandler(InvalidPlayerCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidPlayerCursorException(InvalidPlayerCursorException ex) {
+        return new ResponseEntity<>(new ErrorResponse(ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Gère les exceptions InvalidPlayerRangeException
+     *
+     * @param ex L'exception capturée
+     * @return Une réponse HTTP 400 avec un corps JSON structuré
+     */
+    @ExceptionHandler(InvalidPlayerRangeException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidPlayerRangeException(InvalidPlayerRangeException ex) {
+        return new ResponseEntity<>(new ErrorResponse(ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Gère les exceptions BatchTooLargeException : lot refusé par le service (appel hors contrôleur)
+     *
+     * @param ex L'exception capturée
+     * @return Une réponse HTTP 400 avec un corps JSON structuré
+     */
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleBatchTooLargeException(BatchTooLargeException ex) {
+        return new ResponseEntity<>(new ErrorResponse(ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Gère la validation d'un corps @Valid (POST et PUT /players, POST /matches)
+     * Même corps que PlayerControllerErrorHandler : champ -> message, quel que soit le conseiller retenu par Spring
+     * (les deux déclarent MethodArgumentNotValidException, ResponseEntityExceptionHandler renverrait sinon un ProblemDetail)
+     *
+     * @param ex L'exception capturée
+     * @return Une réponse HTTP 400 avec les messages de validation par champ
+     */
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
+            HttpHeaders headers, HttpStatusCode status, WebRequest request) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    /**
+     * Gère la validation des paramètres des méthodes (lots POST /players/batch et /matches/batch :
+     * taille du lot avec @Size, chaque élément avec @Valid)
+     * Même corps que les erreurs de validation d'un seul élément : champ -> message,
+     * le champ d'un élément du lot est préfixé par son index ("[1].lastName"), la taille du lot porte le nom du paramètre
+     *
+     * @param ex L'exception capturée
+     * @return Une réponse HTTP 400 avec les messages de validation par champ
+     */
+    @Override
+    protected ResponseEntity<Object> handleHandlerMethodValidationException(HandlerMethodValidationException ex,
+            HttpHeaders headers, HttpStatusCode status, WebRequest request) {
+        Map<String, String> errors = new HashMap<>();
+        for (ParameterValidationResult result : ex.getParameterValidationResults()) {
+            if (result instanceof ParameterErrors parameterErrors) {
+                String prefix = result.getContainerIndex() != null ? "[" + result.getContainerIndex() + "]." : "";
+                parameterErrors.getFieldErrors().forEach(error -> errors.put(prefix + error.getField(), error.getDefaultMessage()));
+            } else {
+                result.getResolvableErrors().forEach(error ->
+                        errors.put(result.getMethodParameter().getParameterName(), error.getDefaultMessage()));
+            }
+        }
+        return ResponseEntity.badRequest().body(errors);
+    }
+
+    /**
+     * Gère les exceptions InvalidMatchResultException
+     *
+     * @param ex L'exception capturée
+     * @return Une réponse HTTP 400 avec un corps JSON structuré
+     */
+    @ExceptionHandler(InvalidMatchResultException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidMatchResultException(InvalidMatchResultException ex) {
+        return new ResponseEntity<>(new ErrorResponse(ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Gère les exceptions LoginCapacityExceededException : la file de vérification des mots de passe est pleine
+     *
+     * @param ex L'exception capturée
+     * @return Une réponse HTTP 503 avec l'en-tête Retry-After
+     */
+    @ExceptionHandler(LoginCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleLoginCapacityExceededException(LoginCapacityExceededException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    /**
+     * Gère les exceptions RankingStreamCapacityExceededException : trop de clients abonnés au flux du classement
+     *
+     * @param ex L'exception capturée
+     * @return Une réponse HTTP 503 avec l'en-tête Retry-After
+     */
+    @ExceptionHandler(RankingStreamCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRankingStreamCapacityExceededException(RankingStreamCapacityExceededException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    /**
+     * Gère les exceptions RankingWriterUnavailableException : le rédacteur du classement n'a pas exécuté l'écriture
+     *
+     * @param ex L'exception capturée
+     * @return Une réponse HTTP 503 avec l'en-tête Retry-After
+     */
+    @ExceptionHandler(RankingWriterUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleRankingWriterUnavailableException(RankingWriterUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(ex.getMessage()));
+    }
+
+    /**
+     * Gère les échecs d'authentification de /accounts/login, y compris quand la vérification
+     * s'est faite de manière asynchrone sur le pool de hachage
+     *
+     * @param ex L'exception capturée
+     * @return Une réponse HTTP 403 avec un corps JSON structuré
+     */
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorResponse> handleAuthenticationException(AuthenticationException ex) {
+        return new ResponseEntity<>(new ErrorResponse("User credentials are not valid."), HttpStatus.FORBIDDEN);
+    }
 }
@@ -0,0 +1,75 @@
+package com.escanor1986.tennis.web;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.escanor1986.tennis.model.MatchResult;
+import com.escanor1986.tennis.model.MatchResultToSave;
+import com.escanor1986.tennis.service.MatchService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Classe pour enregistrer les résultats des matchs
+ *
+ * @param matchService : service qui applique les résultats aux points et au classement des joueurs
+ *
+ * @return : enregistre un résultat (POST /matches) et retourne les points échangés
+ * @return : enregistre un lot de résultats (POST /matches/batch) et retourne les points échangés par chacun
+ */
+@Tag(name = "Tennis Matches API")
+@RestController
+@RequestMapping("/matches")
+public class MatchController {
+
+        private final MatchService matchService;
+
+        public MatchController(MatchService matchService) {
+                this.matchService = matchService;
+        }
+
+        @Operation(summary = "Records a match result", description = "Records a match result and updates the points and ranks of both players")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Recorded match result", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = MatchResult.class)) }),
+                        @ApiResponse(responseCode = "400", description = "Match result is not valid.", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+                        @ApiResponse(responseCode = "404", description = "Player with specified last name was not found.", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+                        @ApiResponse(responseCode = "403", description = "Access denied", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+        })
+        @PostMapping
+        public MatchResult recordMatch(@RequestBody @Valid MatchResultToSave matchResultToSave) {
+                return matchService.record(matchResultToSave);
+        }
+
+        @Operation(summary = "Records match results", description = "Records a batch of match results in order, with a single ranking pass")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Recorded match results", content = {
+                                        @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = MatchResult.class))) }),
+                        @ApiResponse(responseCode = "400", description = "A match result is not valid.", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+                        @ApiResponse(responseCode = "404", description = "Player with specified last name was not found.", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+                        @ApiResponse(responseCode = "403", description = "Access denied", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+        })
+        @PostMapping("/batch")
+        public List<MatchResult> recordMatches(
+                        @RequestBody @Size(max = MatchService.MAX_BATCH_SIZE, message = "A batch cannot contain more than {max} match results") List<@Valid MatchResultToSave> matchResultsToSave) {
+                return matchService.recordAll(matchResultsToSave);
+        }
+}
@@ -2,11 +2,17 @@ package com.escanor1986.tennis.web;
 
 import java.util.List;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.PlayerPage;
 import com.escanor1986.tennis.model.PlayerToSave;
+import com.escanor1986.tennis.service.InvalidPlayerRangeException;
 import com.escanor1986.tennis.service.PlayerService;
+import com.escanor1986.tennis.service.RankingVersion;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -16,6 +22,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -25,6 +32,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 
 /**
  * Classe pour gérer les joueurs
@@ -42,9 +52,17 @@ import org.springframework.web.bind.annotation.PutMapping;
  * @ArraySchema : annotation pour décrire le schéma d'un tableau
  * @PathVariable : annotation pour dire que l'attribut est un paramètre de l'URL
  * 
- * @return : retourne la liste de tous les joueurs
- * @return : retourne un joueur par son nom de famille
+ * @return : retourne la liste de tous les joueurs, avec un ETag par format et par encodage et Last-Modified (304 si inchangée),
+ * encodée une seule fois par version et par format (PlayerListResponseCache), compressée en gzip si le client l'accepte
+ * @return : retourne les n meilleurs joueurs (GET /players/top?n=, 10 par défaut), avec un ETag faible et Last-Modified
+ * @return : retourne une page de joueurs à partir d'un curseur (?limit=&after=rank,id)
+ * @return : retourne une page de joueurs classés entre deux positions (?fromRank=&toRank=&after=rank,id)
+ * @return : retourne une page de joueurs dont les points sont compris entre deux valeurs (?minPoints=&maxPoints=&after=points,id)
+ * @return : retourne les joueurs dont le nom ou le prénom commence par un préfixe (GET /players/search?prefix=&limit=)
+ * @return : retourne les joueurs dont le nom est proche d'un nom approché (GET /players/search?name=&limit=)
+ * @return : retourne un joueur par son nom de famille, ou les noms proches dans la réponse 404
  * @return : crée un nouveau joueur et retourne le joueur créé
+ * @return : crée un lot de joueurs (POST /players/batch) et retourne les joueurs créés
  * @return : met à jour un joueur et retourne le joueur mis à jour
  * @return : supprime un joueur
  * 
@@ -57,10 +75,15 @@ public class PlayerController {
         @Autowired
         private PlayerService playerService;
 
+        // Corps de GET /players déjà encodés pour la version courante du classement
+        @Autowired
+        private PlayerListResponseCache playerListResponseCache;
+
         @Operation(summary = "Finds players", description = "Finds players")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Players list", content = {
                                         @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Player.class))) }),
+                        @ApiResponse(responseCode = "304", description = "Ranking has not changed since the given ETag."),
                         @ApiResponse(responseCode = "404", description = "No players found.", content = {
                                         @Content(mediaType = "application/json", schema = @Schema(implementation = Error.class)) }),
                         @ApiResponse(responseCode = "403", description = "Access denied", content = {
@@ -68,15 +91,133 @@ public class PlayerController {
 
         })
         @GetMapping
-        public List<Player> list() {
-                return playerService.getAllPlayers();
+        public ResponseEntity<byte[]> list(@RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+                        @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                        @RequestParam(name = "toRank", required = false) Integer toRank,
+                        @RequestParam(name = "maxPoints", required = false) Integer maxPoints)
+                        throws HttpMediaTypeNotAcceptableException {
+                // Une borne de fin seule est une plage incomplète : jamais le classement entier en réponse
+                if (toRank != null) {
+                        throw new InvalidPlayerRangeException("rank");
+                }
+                if (maxPoints != null) {
+                        throw new InvalidPlayerRangeException("points");
+                }
+                RankingVersion version = playerService.getRankingVersion();
+                PlayerListResponseCache.EncodedResponse response = playerListResponseCache.get(version.eTag(), accept,
+                                acceptEncoding, playerService::getAllPlayers);
+                ResponseEntity.BodyBuilder builder = conditional(response.eTag(), version)
+                                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                                .contentType(response.contentType());
+                if (response.gzip()) {
+                        builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+                }
+                return builder.body(response.body());
+        }
+
+        @Operation(summary = "Finds the best players", description = "Finds the n best-ranked players, at most 100")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Best players", content = {
+                                        @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Player.class))) }),
+                        @ApiResponse(responseCode = "304", description = "Ranking has not changed since the given ETag."),
+                        @ApiResponse(responseCode = "403", description = "Access denied", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = Error.class)) })
+
+        })
+        @GetMapping("/top")
+        public ResponseEntity<List<Player>> top(@RequestParam(name = "n", defaultValue = "10") int n) {
+                RankingVersion version = playerService.getRankingVersion();
+                return conditional(version).body(playerService.getTopPlayers(n));
+        }
+
+        @Operation(summary = "Finds a page of players", description = "Finds players ranked after the given cursor, in ranking order")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Players page", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = PlayerPage.class)) }),
+                        @ApiResponse(responseCode = "400", description = "Cursor is not valid.", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = Error.class)) }),
+                        @ApiResponse(responseCode = "403", description = "Access denied", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = Error.class)) })
+
+        })
+        @GetMapping(params = "limit")
+        public PlayerPage listPage(@RequestParam("limit") int limit,
+                        @RequestParam(name = "after", required = false) String after) {
+                return playerService.getPlayersPage(limit, after);
+        }
+
+        @Operation(summary = "Finds players by rank range", description = "Finds players ranked between fromRank and toRank, in ranking order, 100 per page")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Players page", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = PlayerPage.class)) }),
+                        @ApiResponse(responseCode = "400", description = "Range is not valid or incomplete.", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = Error.class)) }),
+                        @ApiResponse(responseCode = "403", description = "Access denied", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = Error.class)) })
+
+        })
+        @GetMapping(params = "fromRank")
+        public PlayerPage listByRank(@RequestParam("fromRank") int fromRank,
+                        @RequestParam(name = "toRank", required = false) Integer toRank,
+                        @RequestParam(name = "after", required = false) String after) {
+                return playerService.getPlayersByRank(fromRank, toRank, after);
+        }
+
+        @Operation(summary = "Finds players by points range", description = "Finds players whose points are between minPoints and maxPoints, in ranking order, 100 per page")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Players page", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = PlayerPage.class)) }),
+                        @ApiResponse(responseCode = "400", description = "Range is not valid or incomplete.", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = Error.class)) }),
+                        @ApiResponse(responseCode = "403", description = "Access denied", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = Error.class)) })
+
+        })
+        @GetMapping(params = "minPoints")
+        public PlayerPage listByPoints(@RequestParam("minPoints") int minPoints,
+                        @RequestParam(name = "maxPoints", required = false) Integer maxPoints,
+                        @RequestParam(name = "after", required = false) String after) {
+                return playerService.getPlayersByPoints(minPoints, maxPoints, after);
+        }
+
+        @Operation(summary = "Searches players by name prefix", description = "Finds players whose last name or first name starts with the prefix, ignoring case, at most 100")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Matching players", content = {
+                                        @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Player.class))) }),
+                        @ApiResponse(responseCode = "304", description = "Ranking has not changed since the given ETag."),
+                        @ApiResponse(responseCode = "403", description = "Access denied", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = Error.class)) })
+
+        })
+        @GetMapping("/search")
+        public ResponseEntity<List<Player>> search(@RequestParam("prefix") String prefix,
+                        @RequestParam(name = "limit", defaultValue = "10") int limit) {
+                RankingVersion version = playerService.getRankingVersion();
+                return conditional(version).body(playerService.searchPlayers(prefix, limit));
+        }
+
+        @Operation(summary = "Searches players by approximate last name", description = "Finds players whose last name is close to the given name despite typos, closest first, at most 100")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Closest players", content = {
+                                        @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Player.class))) }),
+                        @ApiResponse(responseCode = "304", description = "Ranking has not changed since the given ETag."),
+                        @ApiResponse(responseCode = "403", description = "Access denied", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = Error.class)) })
+
+        })
+        @GetMapping(value = "/search", params = "name")
+        public ResponseEntity<List<Player>> fuzzySearch(@RequestParam("name") String name,
+                        @RequestParam(name = "limit", defaultValue = "10") int limit) {
+                RankingVersion version = playerService.getRankingVersion();
+                return conditional(version).body(playerService.fuzzySearchPlayers(name, limit));
         }
 
         @Operation(summary = "Finds a player", description = "Finds a player")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Player", content = {
                                         @Content(mediaType = "application/json", schema = @Schema(implementation = Player.class)) }),
-                        @ApiResponse(responseCode = "404", description = "Player with specified last name was not found.", content = {
+                        @ApiResponse(responseCode = "304", description = "Ranking has not changed since the given ETag."),
+                        @ApiResponse(responseCode = "404", description = "Player with specified last name was not found, closest last names are suggested.", content = {
                                         @Content(mediaType = "application/json", schema = @Schema(implementation = Error.class)) }),
                         @ApiResponse(responseCode = "403", description = "Access denied", content = {
                                         @Content(mediaType = "application/json", schema = @Schema(implementation = Error.class)) })
@@ -84,8 +225,9 @@ public class PlayerController {
 
         })
         @GetMapping("{lastName}")
-        public Player getByLastName(@PathVariable("lastName") String lastName) {
-                return playerService.getByLastName(lastName);
+        public ResponseEntity<Player> getByLastName(@PathVariable("lastName") String lastName) {
+                RankingVersion version = playerService.getRankingVersion();
+                return conditional(version).body(playerService.getByLastName(lastName));
         }
 
         @Operation(summary = "Creates a player", description = "Creates a player")
@@ -103,6 +245,22 @@ public class PlayerController {
                 return playerService.create(playerToSave);
         }
 
+        @Operation(summary = "Creates players", description = "Creates a batch of players with a single ranking pass")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Created players", content = {
+                                        @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = Player.class))) }),
+                        @ApiResponse(responseCode = "400", description = "A player is not valid, is duplicated or already exists.", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = Error.class)) }),
+                        @ApiResponse(responseCode = "403", description = "Access denied", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = Error.class)) })
+
+        })
+        @PostMapping("/batch")
+        public List<Player> createPlayers(
+                        @RequestBody @Size(max = PlayerService.MAX_BATCH_SIZE, message = "A batch cannot contain more than {max} players") List<@Valid PlayerToSave> playersToSave) {
+                return playerService.createAll(playersToSave);
+        }
+
         @Operation(summary = "Updates a player", description = "Updates a player")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Updated player", content = {
@@ -132,4 +290,19 @@ public class PlayerController {
         public void deletePlayerByLastName(@PathVariable("lastName") String lastName) {
                 playerService.delete(lastName);
         }
+
+        // ETag faible : la même version est servie en JSON, CBOR ou Smile selon Accept, avec des octets différents
+        private static ResponseEntity.BodyBuilder conditional(RankingVersion version) {
+                return conditional("W/\"" + version.eTag() + "\"", version);
+        }
+
+        // Réponse privée (jamais stockée par un cache partagé) et revalidée à chaque appel :
+        // Spring répond 304 sans sérialiser le corps quand If-None-Match ou If-Modified-Since correspond
+        private static ResponseEntity.BodyBuilder conditional(String eTag, RankingVersion version) {
+                return ResponseEntity.ok()
+                                .cacheControl(CacheControl.noCache().cachePrivate())
+                                .varyBy(HttpHeaders.ACCEPT)
+                                .eTag(eTag)
+                                .lastModified(version.lastModified());
+        }
 }
@@ -0,0 +1,136 @@
+package com.escanor1986.tennis.web;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.Rank;
+
+/**
+ * Format binaire d'une liste de joueurs (Accept: application/vnd.tennis.players), sans nom de champ ni analyse de texte
+ * Entiers big-endian (DataOutputStream), chaînes UTF-8 préfixées par leur longueur :
+ * - int32 : nombre de joueurs
+ * - pour chaque joueur : uint16 + prénom, uint16 + nom, int32 date de naissance (jours depuis 1970-01-01),
+ *   int32 position, int32 points
+ *
+ * ! Seules les réponses de type List<Player> sont concernées (GET /players, /players/top, plages, recherches)
+ */
+public class PlayerListBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<Player>> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.tennis.players";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+
+    public PlayerListBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isPlayerList(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isPlayerList(type) && canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public List<Player> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readInternal(null, inputMessage);
+    }
+
+    @Override
+    protected List<Player> readInternal(Class<? extends List<Player>> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return read(inputMessage.getBody());
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Player list is not valid: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(List<Player> players, Type type, HttpOutputMessage outputMessage) throws IOException {
+        write(players, outputMessage.getBody());
+    }
+
+    /**
+     * Encode la liste de joueurs, le flux n'est pas fermé
+     */
+    public static void write(List<Player> players, OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream, 16 * 1024));
+        out.writeInt(players.size());
+        for (Player player : players) {
+            writeString(out, player.firstName());
+            writeString(out, player.lastName());
+            out.writeInt((int) player.birthDate().toEpochDay());
+            out.writeInt(player.rank().position());
+            out.writeInt(player.rank().points());
+        }
+        out.flush();
+    }
+
+    /**
+     * @return : retourne la liste de joueurs décodée
+     */
+    public static List<Player> read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream, 16 * 1024));
+        int size = in.readInt();
+        if (size < 0) {
+            throw new IOException("Negative player count: " + size);
+        }
+        List<Player> players = new ArrayList<>(Math.min(size, 1 << 16));
+        for (int i = 0; i < size; i++) {
+            String firstName = readString(in);
+            String lastName = readString(in);
+            LocalDate birthDate = LocalDate.ofEpochDay(in.readInt());
+            players.add(new Player(firstName, lastName, birthDate, new Rank(in.readInt(), in.readInt())));
+        }
+        return players;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new HttpMessageNotWritableException("Player name is longer than " + MAX_STRING_BYTES + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readUnsignedShort()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isPlayerList(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] == Player.class;
+    }
+}
@@ -0,0 +1,267 @@
+package com.escanor1986.tennis.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.RankingChange;
+import com.escanor1986.tennis.service.Leaderboard;
+import com.escanor1986.tennis.service.LeaderboardListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Corps de réponse de GET /players encodés une seule fois par version du classement
+ * Entre deux écritures, toutes les réponses sont identiques octet pour octet : chaque format (JSON, CBOR, Smile, binaire)
+ * est encodé à la première demande avec le convertisseur que Spring MVC aurait choisi, puis compressé en gzip
+ * à la première demande qui l'accepte. Les requêtes suivantes ne font qu'écrire ces octets sur la connexion.
+ *
+ * ! Les corps sont rangés par version (ETag) : un corps encodé pour une version dépassée n'est jamais servi pour la suivante
+ * ! Chaque représentation a son propre ETag fort ("v-42-cbor-gzip") : deux réponses de même ETag ont les mêmes octets
+ * ! Le cache est vidé à chaque écriture appliquée au Leaderboard (après le commit) et à chaque invalidation
+ *
+ * Métriques : tennis.players.response.cache (compteur, tag result=hit|miss)
+ *
+ * @param leaderboard : classement en mémoire, source des invalidations
+ * @param handlerAdapter : convertisseurs de Spring MVC (PlayerMediaTypesConfiguration), lus à la première requête
+ * @param meterRegistry : registre Micrometer
+ */
+@Component
+public class PlayerListResponseCache implements LeaderboardListener {
+
+    public static final String CACHE_COUNTER = "tennis.players.response.cache";
+
+    // En dessous, l'en-tête et le pied gzip coûtent plus qu'ils ne font gagner (seuil de server.compression.min-response-size)
+    static final int MIN_GZIP_SIZE = 2048;
+
+    private static final Type PLAYER_LIST = new ParameterizedTypeReference<List<Player>>() { }.getType();
+
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+    private final Counter hits;
+    private final Counter misses;
+    private volatile Generation generation;
+    // Formats capables d'écrire une List<Player>, dans l'ordre des convertisseurs : le premier est servi par défaut (JSON)
+    private volatile Map<MediaType, GenericHttpMessageConverter<Object>> producibleTypes;
+
+    /**
+     * Réponse prête à être écrite
+     *
+     * @param eTag : ETag fort de cette représentation, la version suivie du format et de l'encodage
+     * @param contentType : format choisi d'après l'en-tête Accept
+     * @param body : corps encodé, compressé si gzip
+     * @param gzip : le corps est compressé (Content-Encoding: gzip)
+     */
+    public record EncodedResponse(String eTag, MediaType contentType, byte[] body, boolean gzip) {
+    }
+
+    private record Generation(String eTag, ConcurrentMap<MediaType, EncodedBody> bodies) {
+    }
+
+    public PlayerListResponseCache(Leaderboard leaderboard, ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter,
+            MeterRegistry meterRegistry) {
+        this.handlerAdapter = handlerAdapter;
+        this.hits = Counter.builder(CACHE_COUNTER)
+                .description("Réponses GET /players servies depuis les corps déjà encodés")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder(CACHE_COUNTER)
+                .description("Réponses GET /players servies depuis les corps déjà encodés")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        leaderboard.addListener(this);
+    }
+
+    /**
+     * @param eTag : version du classement, lue avant les joueurs
+     * @param accept : en-tête Accept de la requête (null : tous les formats)
+     * @param acceptEncoding : en-tête Accept-Encoding de la requête (null : pas de compression)
+     * @param players : joueurs à encoder si le corps n'est pas encore en cache pour cette version et ce format
+     *
+     * @return : retourne le corps de la réponse dans le format négocié
+     */
+    public EncodedResponse get(String eTag, String accept, String acceptEncoding, Supplier<List<Player>> players)
+            throws HttpMediaTypeNotAcceptableException {
+        MediaType contentType = negotiate(accept);
+        Generation current = generation;
+        if (current == null || !current.eTag().equals(eTag)) {
+            current = new Generation(eTag, new ConcurrentHashMap<>());
+            generation = current;
+        }
+        EncodedBody body = current.bodies().get(contentType);
+        if (body != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            // computeIfAbsent : les requêtes simultanées sur une version encore absente attendent un seul encodage
+            body = current.bodies().computeIfAbsent(contentType,
+                    type -> new EncodedBody(encode(players.get(), type, producibleTypes().get(type))));
+        }
+        if (acceptsGzip(acceptEncoding) && body.plain().length >= MIN_GZIP_SIZE) {
+            return new EncodedResponse(representationETag(eTag, contentType, true), contentType, body.gzip(), true);
+        }
+        return new EncodedResponse(representationETag(eTag, contentType, false), contentType, body.plain(), false);
+    }
+
+    @Override
+    public void onChange(RankingChange change) {
+        generation = null;
+    }
+
+    @Override
+    public void onReset() {
+        generation = null;
+    }
+
+    // Même règle que Spring MVC : les types acceptés sont triés par qualité puis par spécificité,
+    // à qualité égale l'ordre de l'en-tête l'emporte, et */* désigne le premier format des convertisseurs
+    private MediaType negotiate(String accept) throws HttpMediaTypeNotAcceptableException {
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = accept == null || accept.isBlank() ? List.of(MediaType.ALL) : MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            throw new HttpMediaTypeNotAcceptableException(e.getMessage());
+        }
+        Map<MediaType, GenericHttpMessageConverter<Object>> producible = producibleTypes();
+        List<MediaType> compatibleTypes = new ArrayList<>();
+        for (MediaType acceptedType : acceptedTypes) {
+            for (MediaType producibleType : producible.keySet()) {
+                if (acceptedType.isCompatibleWith(producibleType)) {
+                    compatibleTypes.add(producibleType.copyQualityValue(acceptedType));
+                }
+            }
+        }
+        if (compatibleTypes.isEmpty()) {
+            throw new HttpMediaTypeNotAcceptableException(List.copyOf(producible.keySet()));
+        }
+        MimeTypeUtils.sortBySpecificity(compatibleTypes);
+        return compatibleTypes.get(0).removeQualityValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<MediaType, GenericHttpMessageConverter<Object>> producibleTypes() {
+        Map<MediaType, GenericHttpMessageConverter<Object>> producible = producibleTypes;
+        if (producible == null) {
+            producible = new LinkedHashMap<>();
+            for (HttpMessageConverter<?> converter : handlerAdapter.getObject().getMessageConverters()) {
+                if (converter instanceof GenericHttpMessageConverter<?> generic && generic.canWrite(PLAYER_LIST, List.class, null)) {
+                    for (MediaType mediaType : generic.getSupportedMediaTypes(List.class)) {
+                        if (mediaType.isConcrete()) {
+                            producible.putIfAbsent(mediaType, (GenericHttpMessageConverter<Object>) generic);
+                        }
+                    }
+                }
+            }
+            producibleTypes = producible;
+        }
+        return producible;
+    }
+
+    private static byte[] encode(List<Player> players, MediaType contentType, GenericHttpMessageConverter<Object> converter) {
+        ByteArrayOutputMessage message = new ByteArrayOutputMessage();
+        try {
+            converter.write(players, PLAYER_LIST, contentType, message);
+        } catch (IOException e) {
+            throw new HttpMessageNotWritableException("Could not encode players as " + contentType, e);
+        }
+        return message.body.toByteArray();
+    }
+
+    // "v-42" servi en CBOR compressé devient "v-42-cbor-gzip"
+    static String representationETag(String eTag, MediaType contentType, boolean gzip) {
+        return "\"" + eTag + "-" + contentType.getSubtype() + (gzip ? "-gzip" : "") + "\"";
+    }
+
+    // Jetons séparés par des virgules, gzip ou * acceptés sauf si leur qualité est nulle (gzip;q=0)
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].strip();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                boolean refused = false;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].strip().replace(" ", "");
+                    refused |= parameter.matches("[qQ]=0(\\.0{0,3})?");
+                }
+                return !refused;
+            }
+        }
+        return false;
+    }
+
+    private static final class EncodedBody {
+        private final byte[] plain;
+        private volatile byte[] gzip;
+
+        private EncodedBody(byte[] plain) {
+            this.plain = plain;
+        }
+
+        private byte[] plain() {
+            return plain;
+        }
+
+        // Compressé à la première demande : les clients qui n'acceptent pas gzip n'en paient pas le coût
+        private byte[] gzip() {
+            byte[] compressed = gzip;
+            if (compressed == null) {
+                synchronized (this) {
+                    compressed = gzip;
+                    if (compressed == null) {
+                        ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 4);
+                        try (OutputStream zip = new GZIPOutputStream(out, 16 * 1024)) {
+                            zip.write(plain);
+                        } catch (IOException e) {
+                            throw new HttpMessageNotWritableException("Could not compress players", e);
+                        }
+                        compressed = out.toByteArray();
+                        gzip = compressed;
+                    }
+                }
+            }
+            return compressed;
+        }
+    }
+
+    private static final class ByteArrayOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(64 * 1024);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
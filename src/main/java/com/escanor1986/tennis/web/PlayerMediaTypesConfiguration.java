@@ -0,0 +1,51 @@
+package com.escanor1986.tennis.web;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Formats de réponse de l'API des joueurs, choisis selon l'en-tête Accept (JSON par défaut)
+ * - application/cbor et application/x-jackson-smile : mêmes objets que le JSON, encodés en binaire
+ * - application/vnd.tennis.players : format binaire dédié aux listes de joueurs (PlayerListBinaryHttpMessageConverter)
+ *
+ * Les convertisseurs CBOR et Smile ajoutés par défaut par Spring MVC utilisent un ObjectMapper à part :
+ * ils sont remplacés par des convertisseurs construits avec la configuration Jackson de Spring Boot (modules, spring.jackson.*).
+ */
+@Configuration
+public class PlayerMediaTypesConfiguration implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public PlayerMediaTypesConfiguration(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    // Enregistré par Spring Boot dans tous les ObjectMapper : accesseurs et constructeurs des records appelés sans réflexion
+    // static : le module est nécessaire à la création du Jackson2ObjectMapperBuilder injecté dans cette configuration
+    @Bean
+    public static Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // Ajoutés après le JSON : une requête sans Accept (ou */*) reçoit toujours du JSON
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.factory(new SmileFactory()).build()));
+        converters.add(new PlayerListBinaryHttpMessageConverter());
+    }
+}
@@ -0,0 +1,301 @@
+package com.escanor1986.tennis.web;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.escanor1986.tennis.model.RankingChange;
+import com.escanor1986.tennis.service.Leaderboard;
+import com.escanor1986.tennis.service.LeaderboardListener;
+import com.escanor1986.tennis.service.RankingVersion;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Diffusion des changements du classement aux clients du flux SSE (GET /players/stream)
+ * ! Le Leaderboard ne fait que déposer le changement dans une file : un thread de diffusion le sérialise
+ * ! une seule fois puis le dépose dans le tampon borné de chaque client, sans jamais bloquer l'écriture
+ *
+ * Chaque client a son propre envoi, sur un thread virtuel créé à la demande : une connexion inactive n'occupe aucun thread,
+ * Tomcat la garde en mode asynchrone, et un envoi bloqué (fenêtre TCP pleine) ne retarde que son propre client.
+ * Un client est lent quand son tampon est plein ou qu'un de ses envois dure plus de sendTimeout : il est déconnecté,
+ * son EventSource se reconnecte et repart de la version courante.
+ *
+ * Événements : version (à la connexion), ranking (delta d'une écriture), reset (relire GET /players),
+ * et un commentaire à chaque heartbeat, qui détecte les connexions fermées.
+ *
+ * Métriques : tennis.ranking.stream.clients (jauge), tennis.ranking.stream.slow.consumers (clients déconnectés)
+ *
+ * @param leaderboard : classement en mémoire, source des changements
+ * @param objectMapper : sérialisation JSON des événements
+ * @param meterRegistry : registre Micrometer
+ * @param bufferSize : nombre d'événements en attente par client avant de le considérer comme lent
+ * @param maxClients : nombre maximum de clients connectés
+ * @param timeout : durée maximale d'une connexion, le client se reconnecte ensuite
+ * @param heartbeat : intervalle entre deux heartbeats
+ * @param sendTimeout : durée maximale d'un envoi à un client avant de le considérer comme lent
+ */
+@Component
+public class RankingBroadcaster implements LeaderboardListener, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RankingBroadcaster.class);
+
+    // Marqueurs de la file de diffusion, à côté des RankingChange
+    private static final Object RESET = new Object();
+    private static final Object HEARTBEAT = new Object();
+
+    private final Leaderboard leaderboard;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxClients;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final Duration sendTimeout;
+    private final Counter slowConsumers;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Places réservées avant l'abonnement : maxClients ne peut pas être dépassé par des abonnements simultanés
+    private final AtomicInteger clients = new AtomicInteger();
+    private final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+    private volatile ExecutorService senders;
+    private volatile ScheduledExecutorService heartbeats;
+    private volatile Thread dispatcher;
+
+    public static final String CLIENTS_GAUGE = "tennis.ranking.stream.clients";
+    public static final String SLOW_CONSUMERS_COUNTER = "tennis.ranking.stream.slow.consumers";
+
+    public RankingBroadcaster(Leaderboard leaderboard, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${tennis.ranking.stream.buffer-size:64}") int bufferSize,
+            @Value("${tennis.ranking.stream.max-clients:50000}") int maxClients,
+            @Value("${tennis.ranking.stream.timeout:30m}") Duration timeout,
+            @Value("${tennis.ranking.stream.heartbeat:30s}") Duration heartbeat,
+            @Value("${tennis.ranking.stream.send-timeout:10s}") Duration sendTimeout) {
+        this.leaderboard = leaderboard;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxClients = maxClients;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.sendTimeout = sendTimeout;
+        Gauge.builder(CLIENTS_GAUGE, subscribers, Set::size)
+                .description("Clients connectés au flux du classement")
+                .register(meterRegistry);
+        this.slowConsumers = Counter.builder(SLOW_CONSUMERS_COUNTER)
+                .description("Clients du flux déconnectés car leur tampon était plein ou leur envoi bloqué")
+                .register(meterRegistry);
+        leaderboard.addListener(this);
+    }
+
+    /**
+     * Abonne un client : il reçoit d'abord la version courante, puis chaque changement
+     * ! Un changement appliqué entre l'abonnement et la lecture de la version peut être reçu alors qu'il
+     * ! est déjà compris dans la version : les deltas sont idempotents, le client peut les rejouer
+     *
+     * @throws RankingStreamCapacityExceededException : exception si maxClients clients sont déjà connectés
+     */
+    public SseEmitter subscribe() {
+        if (clients.incrementAndGet() > maxClients) {
+            clients.decrementAndGet();
+            throw new RankingStreamCapacityExceededException(maxClients);
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        try {
+            RankingVersion version = leaderboard.version();
+            subscriber.offerFirst(SseEmitter.event().name("version").id(version.eTag()).data(toJson(version)).build());
+        } catch (RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+        log.debug("Client abonné au flux du classement, {} clients", subscribers.size());
+        return emitter;
+    }
+
+    @Override
+    public void onChange(RankingChange change) {
+        events.offer(change);
+    }
+
+    @Override
+    public void onReset() {
+        events.offer(RESET);
+    }
+
+    @Override
+    public void start() {
+        // Un thread virtuel par envoi : un client bloqué n'immobilise pas les envois des autres clients
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ranking-stream-sender-", 0).factory());
+        heartbeats = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("ranking-stream-heartbeat").daemon().factory());
+        heartbeats.scheduleAtFixedRate(() -> events.offer(HEARTBEAT), heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        heartbeats.scheduleAtFixedRate(this::disconnectStalledClients, sendTimeout.toMillis(), sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        dispatcher = Thread.ofPlatform().name("ranking-stream-dispatcher").daemon().start(this::dispatch);
+    }
+
+    @Override
+    public void stop() {
+        Thread current = dispatcher;
+        dispatcher = null;
+        if (current != null) {
+            current.interrupt();
+        }
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> {
+            subscriber.close();
+            subscriber.emitter.complete();
+        });
+        senders.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return dispatcher != null;
+    }
+
+    // Sérialise chaque événement une seule fois puis le dépose dans le tampon de chaque client
+    private void dispatch() {
+        while (dispatcher == Thread.currentThread()) {
+            try {
+                Object event = events.take();
+                Set<DataWithMediaType> data;
+                if (event instanceof RankingChange change) {
+                    data = SseEmitter.event().name("ranking").id(change.version()).data(toJson(change)).build();
+                } else if (event == RESET) {
+                    data = SseEmitter.event().name("reset").data("").build();
+                } else {
+                    data = SseEmitter.event().comment("heartbeat").build();
+                }
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.offer(data);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erreur lors de la diffusion d'un changement du classement", e);
+            }
+        }
+    }
+
+    // Seul le client dont l'envoi est bloqué est déconnecté, les autres envoient sur leurs propres threads
+    private void disconnectStalledClients() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long startedAt = subscriber.sendStartedAt;
+            if (startedAt != 0 && now - startedAt > sendTimeout.toNanos()) {
+                subscriber.slow();
+            }
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Ranking event cannot be serialized", e);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingDeque<Set<DataWithMediaType>> buffer = new LinkedBlockingDeque<>(bufferSize);
+        // Un seul envoi en cours par client : l'ordre des événements est conservé
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Début de l'envoi en cours (System.nanoTime), 0 si aucun envoi n'est en cours
+        private volatile long sendStartedAt;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(Set<DataWithMediaType> data) {
+            if (!closed.get()) {
+                if (buffer.offer(data)) {
+                    schedule();
+                } else {
+                    slow();
+                }
+            }
+        }
+
+        private void offerFirst(Set<DataWithMediaType> data) {
+            if (buffer.offerFirst(data)) {
+                schedule();
+            } else {
+                slow();
+            }
+        }
+
+        private void schedule() {
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> data;
+                while (!closed.get() && (data = buffer.poll()) != null) {
+                    sendStartedAt = System.nanoTime();
+                    emitter.send(data);
+                    sendStartedAt = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Connexion fermée par le client : l'emitter est terminé par Spring
+                close();
+            } finally {
+                sendStartedAt = 0;
+                sending.set(false);
+            }
+            if (!closed.get() && !buffer.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void slow() {
+            if (close()) {
+                slowConsumers.increment();
+                log.debug("Client lent déconnecté du flux du classement");
+                // complete() attend la fin de l'envoi en cours : jamais sur le thread de diffusion ou du heartbeat
+                senders.execute(emitter::complete);
+            }
+        }
+
+        // Libère la place du client une seule fois, quel que soit le déclencheur (fin, timeout, erreur, client lent)
+        private boolean close() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            buffer.clear();
+            subscribers.remove(this);
+            clients.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.escanor1986.tennis.web;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.escanor1986.tennis.service.Leaderboard;
+import com.escanor1986.tennis.service.RankingEngine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Endpoint Actuator /actuator/ranking : résumé du coût des mises à jour du classement
+ * Les valeurs sont lues dans le registre Micrometer, cumulées depuis le démarrage
+ *
+ * @param meterRegistry : registre où le RankingEngine et le Leaderboard publient leurs métriques
+ *
+ * @return : retourne le nombre de joueurs, la version du classement, puis par opération
+ *           le nombre d'appels, les durées (ms) et les lignes réécrites
+ */
+@Component
+@Endpoint(id = "ranking")
+public class RankingEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    public RankingEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public record RankingReport(Double players, Double version, TimerStats load, TimerStats leaderboardRebuild,
+            Map<String, OperationStats> operations) {
+    }
+
+    public record TimerStats(long count, double totalMs, double meanMs, double maxMs) {
+
+        static TimerStats of(Timer timer) {
+            if (timer == null) {
+                return new TimerStats(0, 0, 0, 0);
+            }
+            return new TimerStats(timer.count(), timer.totalTime(TimeUnit.MILLISECONDS),
+                    timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    public record OperationStats(TimerStats time, double rowsRewritten, double rowsRewrittenPerUpdate) {
+    }
+
+    @ReadOperation
+    public RankingReport ranking() {
+        Map<String, OperationStats> operations = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(RankingEngine.UPDATE_TIMER).timers()) {
+            String operation = timer.getId().getTag("operation");
+            Counter rows = meterRegistry.find(RankingEngine.ROWS_REWRITTEN_COUNTER).tag("operation", operation).counter();
+            double rowsRewritten = rows != null ? rows.count() : 0;
+            operations.put(operation, new OperationStats(TimerStats.of(timer), rowsRewritten,
+                    timer.count() > 0 ? rowsRewritten / timer.count() : 0));
+        }
+        return new RankingReport(
+                gauge(Leaderboard.PLAYERS_GAUGE),
+                gauge(Leaderboard.VERSION_GAUGE),
+                TimerStats.of(meterRegistry.find(RankingEngine.LOAD_TIMER).timer()),
+                TimerStats.of(meterRegistry.find(Leaderboard.REBUILD_TIMER).timer()),
+                operations);
+    }
+
+    // null si la jauge n'existe pas ou si le classement en mémoire est en cours de reconstruction
+    private Double gauge(String name) {
+        Gauge gauge = meterRegistry.find(name).gauge();
+        return gauge == null || Double.isNaN(gauge.value()) ? null : gauge.value();
+    }
+}
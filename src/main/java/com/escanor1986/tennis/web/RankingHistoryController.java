@@ -0,0 +1,60 @@
+package com.escanor1986.tennis.web;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.escanor1986.tennis.model.RankHistoryEntry;
+import com.escanor1986.tennis.service.RankingHistoryService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Classe pour consulter l'historique du classement
+ *
+ * @param rankingHistoryService : service qui rejoue les photographies du classement
+ *
+ * @return : retourne le classement d'un joueur dans chaque photographie (GET /players/{lastName}/history?from=&to=)
+ */
+@Tag(name = "Tennis Players API")
+@RestController
+@RequestMapping("/players")
+public class RankingHistoryController {
+
+        private final RankingHistoryService rankingHistoryService;
+
+        public RankingHistoryController(RankingHistoryService rankingHistoryService) {
+                this.rankingHistoryService = rankingHistoryService;
+        }
+
+        @Operation(summary = "Finds a player ranking history", description = "Finds the rank and points of a player in each ranking snapshot between two dates")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Ranking history, oldest first", content = {
+                                        @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = RankHistoryEntry.class))) }),
+                        @ApiResponse(responseCode = "400", description = "The lower date must not be after the upper date.", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+                        @ApiResponse(responseCode = "404", description = "Player with specified last name was not found.", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+                        @ApiResponse(responseCode = "403", description = "Access denied", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+        })
+        @GetMapping("{lastName}/history")
+        public List<RankHistoryEntry> getHistory(
+                        @PathVariable("lastName") String lastName,
+                        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+                return rankingHistoryService.getHistory(lastName, from, to);
+        }
+}
@@ -0,0 +1,10 @@
+package com.escanor1986.tennis.web;
+
+/**
+ * Exception levée quand le nombre maximum de clients abonnés au flux du classement est atteint
+ */
+public class RankingStreamCapacityExceededException extends RuntimeException {
+    public RankingStreamCapacityExceededException(int maxClients) {
+        super("Ranking stream is full (" + maxClients + " clients), please retry later.");
+    }
+}
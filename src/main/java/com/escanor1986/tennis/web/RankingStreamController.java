@@ -0,0 +1,47 @@
+package com.escanor1986.tennis.web;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Classe pour suivre le classement en direct, à la place d'interroger GET /players en boucle
+ *
+ * @param rankingBroadcaster : diffusion des changements du classement
+ *
+ * @return : retourne un flux SSE (GET /players/stream) : la version courante, puis le delta de chaque écriture
+ */
+@Tag(name = "Tennis Players API")
+@RestController
+@RequestMapping("/players")
+public class RankingStreamController {
+
+        private final RankingBroadcaster rankingBroadcaster;
+
+        public RankingStreamController(RankingBroadcaster rankingBroadcaster) {
+                this.rankingBroadcaster = rankingBroadcaster;
+        }
+
+        @Operation(summary = "Streams ranking changes", description = "Sends the current ranking version, then the players saved or removed by each write (ranking events). A reset event means the ranking must be read again.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Server-Sent Events stream", content = {
+                                        @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE) }),
+                        @ApiResponse(responseCode = "503", description = "Too many clients connected.", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+                        @ApiResponse(responseCode = "403", description = "Access denied", content = {
+                                        @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+        })
+        @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        public SseEmitter stream() {
+                return rankingBroadcaster.subscribe();
+        }
+}
@@ -0,0 +1,3 @@
+-- Hibernate réserve les identifiants des joueurs par blocs de 50 (allocationSize de PlayerEntity)
+-- L'incrément de la séquence doit être identique pour que les blocs ne se chevauchent pas
+ALTER SEQUENCE player_id_seq INCREMENT BY 50;
@@ -0,0 +1,2 @@
+-- Les mots de passe sont préfixés par l'identifiant de l'algorithme ({bcrypt}$2a$12$...) : 60 caractères ne suffisent plus
+ALTER TABLE dyma_user ALTER COLUMN password SET DATA TYPE character varying(100);
@@ -0,0 +1,3 @@
+-- Recherche par tranche de points, dans l'ordre du classement (points décroissants puis id)
+-- Même ordre que row_number() de PlayerRepository.reRank : la plage est lue déjà triée
+CREATE INDEX player_points_id_idx ON player (points DESC, id);
@@ -0,0 +1,23 @@
+-- Résultats des matchs : chaque ligne conserve les points échangés et les points des deux joueurs après le match
+-- Séquence créée avec un incrément de 50, comme l'allocationSize de MatchResultEntity (INSERT en batch JDBC)
+CREATE SEQUENCE match_result_id_seq INCREMENT BY 50;
+
+CREATE TABLE match_result
+(
+    id integer NOT NULL DEFAULT nextval('match_result_id_seq'),
+    winner_id integer NOT NULL,
+    loser_id integer NOT NULL,
+    played_on date NOT NULL,
+    rating_change integer NOT NULL,
+    winner_points integer NOT NULL,
+    loser_points integer NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_match_result_winner FOREIGN KEY (winner_id)
+        REFERENCES public.player (id) ON DELETE CASCADE,
+    CONSTRAINT fk_match_result_loser FOREIGN KEY (loser_id)
+        REFERENCES public.player (id) ON DELETE CASCADE
+);
+
+-- La suppression d'un joueur supprime ses matchs : sans ces index, chaque suppression parcourrait toute la table
+CREATE INDEX match_result_winner_id_idx ON match_result (winner_id);
+CREATE INDEX match_result_loser_id_idx ON match_result (loser_id);
@@ -0,0 +1,31 @@
+-- Historique du classement : une ligne par photographie, le contenu est découpé en paquets de joueurs (par plage d'identifiants)
+-- Chaque paquet ne contient que les joueurs dont le classement ou les points ont changé depuis la photographie précédente,
+-- encodés en binaire (voir RankingDeltaCodec) ; une photographie complète (keyframe) est enregistrée à intervalle régulier
+CREATE SEQUENCE ranking_snapshot_id_seq INCREMENT BY 1;
+CREATE SEQUENCE ranking_snapshot_chunk_id_seq INCREMENT BY 50;
+
+CREATE TABLE ranking_snapshot
+(
+    id integer NOT NULL DEFAULT nextval('ranking_snapshot_id_seq'),
+    taken_at timestamp with time zone NOT NULL,
+    keyframe boolean NOT NULL,
+    player_count integer NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX ranking_snapshot_taken_at_idx ON ranking_snapshot (taken_at);
+
+CREATE TABLE ranking_snapshot_chunk
+(
+    id integer NOT NULL DEFAULT nextval('ranking_snapshot_chunk_id_seq'),
+    snapshot_id integer NOT NULL,
+    bucket integer NOT NULL,
+    data bytea NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_ranking_snapshot_chunk_snapshot FOREIGN KEY (snapshot_id)
+        REFERENCES public.ranking_snapshot (id) ON DELETE CASCADE
+);
+
+-- L'historique d'un joueur ne lit que les paquets de sa plage d'identifiants : un parcours d'index par photographie
+CREATE UNIQUE INDEX ranking_snapshot_chunk_bucket_snapshot_key ON ranking_snapshot_chunk (bucket, snapshot_id);
+CREATE INDEX ranking_snapshot_chunk_snapshot_id_idx ON ranking_snapshot_chunk (snapshot_id);
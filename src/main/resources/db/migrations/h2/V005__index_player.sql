@@ -0,0 +1,5 @@
+-- H2 ne supporte pas les index sur expression : l'unicité porte directement sur last_name
+CREATE UNIQUE INDEX player_last_name_key ON player (last_name);
+
+-- Lecture dans l'ordre du classement (pagination par curseur, lecture en flux, décalage des classements)
+CREATE INDEX player_rank_id_idx ON player (rank, id);
@@ -0,0 +1,4 @@
+-- Sous H2, le premier nextval après V006 renvoie encore l'ancienne valeur + 1 : l'optimiseur pooled de Hibernate
+-- en déduisait un bloc d'identifiants qui chevauche les joueurs existants (identifiants négatifs puis doublons)
+-- La séquence repart au-delà du plus grand identifiant, à un bloc complet de distance
+ALTER SEQUENCE player_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM player);
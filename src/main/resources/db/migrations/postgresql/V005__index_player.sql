@@ -0,0 +1,6 @@
+-- Unicité du nom de famille sans tenir compte de la casse
+-- L'expression upper(last_name) est exactement celle de PlayerRepository.findOneByLastNameIgnoreCase
+CREATE UNIQUE INDEX player_last_name_upper_key ON player (upper(last_name));
+
+-- Lecture dans l'ordre du classement (pagination par curseur, lecture en flux, décalage des classements)
+CREATE INDEX player_rank_id_idx ON player (rank, id);
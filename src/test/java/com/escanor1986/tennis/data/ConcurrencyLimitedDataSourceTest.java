@@ -0,0 +1,67 @@
+package com.escanor1986.tennis.data;
+
+import org.assertj.core.api.Assertions;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConcurrencyLimitedDataSourceTest {
+
+    private final ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(h2(), 1, Duration.ofMillis(50));
+
+    @Test
+    public void shouldFailToBorrowMoreConnectionsThanPermits() throws Exception {
+        // Given
+        try (Connection connection = dataSource.getConnection()) {
+
+            // When / Then
+            Assertions.assertThat(connection.isValid(1)).isTrue();
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+    }
+
+    @Test
+    public void shouldReleasePermitOnceWhenConnectionIsClosed() throws Exception {
+        // Given
+        Connection connection = dataSource.getConnection();
+
+        // When
+        connection.close();
+        connection.close();
+
+        // Then
+        try (Connection first = dataSource.getConnection()) {
+            Assertions.assertThat(first.isClosed()).isFalse();
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+    }
+
+    @Test
+    public void shouldNeverExposeUnguardedConnection() throws Exception {
+        // Given
+        Connection connection = dataSource.getConnection();
+
+        // When
+        Connection unwrapped = connection.unwrap(Connection.class);
+        unwrapped.close();
+
+        // Then
+        Assertions.assertThat(unwrapped).isSameAs(connection);
+        Assertions.assertThat(connection.isWrapperFor(Connection.class)).isTrue();
+        Assertions.assertThat(connection).isEqualTo(connection).hasSameHashCodeAs(connection);
+        try (Connection next = dataSource.getConnection()) {
+            Assertions.assertThat(next).isNotEqualTo(connection);
+        }
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:limiter;DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+}
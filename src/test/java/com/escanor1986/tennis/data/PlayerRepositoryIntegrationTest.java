@@ -0,0 +1,123 @@
+package com.escanor1986.tennis.data;
+
+import org.assertj.core.api.Assertions;
+import org.assertj.core.groups.Tuple;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+
+@SpringBootTest
+public class PlayerRepositoryIntegrationTest {
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void clearDatabase(@Autowired Flyway flyway) {
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Test
+    public void shouldOnlyRewriteChangedRanks_WhenReRanking() {
+        // Given
+        playerRepository.save(new PlayerEntity("Alcaraz", "Carlos", LocalDate.of(2003, Month.MAY, 5), 4500, 999999999));
+
+        // When
+        Integer rewritten = transactionTemplate.execute(status -> playerRepository.reRank());
+
+        // Then
+        Assertions.assertThat(rewritten).isEqualTo(3);
+        Assertions.assertThat(playerRepository.findAll(Sort.by("rank")))
+                .extracting("lastName", "rank")
+                .containsExactly(
+                        Tuple.tuple("NadalTest", 1),
+                        Tuple.tuple("Alcaraz", 2),
+                        Tuple.tuple("DjokovicTest", 3),
+                        Tuple.tuple("FedererTest", 4));
+    }
+
+    @Test
+    public void shouldWriteNothing_WhenRankingIsAlreadyConsistent() {
+        // When
+        Integer rewritten = transactionTemplate.execute(status -> playerRepository.reRank());
+
+        // Then
+        Assertions.assertThat(rewritten).isZero();
+    }
+
+    @Test
+    public void shouldOnlyReRankRequestedRange() {
+        // Given : FedererTest passe devant DjokovicTest, NadalTest porte un classement faux hors de la plage
+        transactionTemplate.executeWithoutResult(status -> {
+            playerRepository.findOneByLastNameIgnoreCase("FedererTest").orElseThrow().setPoints(4500);
+            playerRepository.findOneByLastNameIgnoreCase("NadalTest").orElseThrow().setRank(7);
+        });
+
+        // When
+        Integer rewritten = transactionTemplate.execute(status -> playerRepository.reRankBetween(2, 3));
+
+        // Then
+        Assertions.assertThat(rewritten).isEqualTo(2);
+        Assertions.assertThat(playerRepository.findAll(Sort.by("rank")))
+                .extracting("lastName", "rank")
+                .containsExactly(
+                        Tuple.tuple("FedererTest", 2),
+                        Tuple.tuple("DjokovicTest", 3),
+                        Tuple.tuple("NadalTest", 7));
+    }
+
+    @Test
+    public void shouldReadRankRangeInRankingOrder() {
+        // When
+        List<PlayerView> players = playerRepository.findViewsByRankBetween(2, 3, 0, 0, Limit.of(100));
+
+        // Then
+        Assertions.assertThat(players)
+                .extracting("lastName", "rank")
+                .containsExactly(
+                        Tuple.tuple("DjokovicTest", 2),
+                        Tuple.tuple("FedererTest", 3));
+    }
+
+    @Test
+    public void shouldReadPointsRangeInRankingOrder_UpToLimit() {
+        // When
+        List<PlayerView> players = playerRepository.findViewsByPointsBetween(3000, 5000, 5000, 0, Limit.of(2));
+
+        // Then
+        Assertions.assertThat(players)
+                .extracting("lastName", "points")
+                .containsExactly(
+                        Tuple.tuple("NadalTest", 5000),
+                        Tuple.tuple("DjokovicTest", 4000));
+    }
+
+    @Test
+    public void shouldReadPointsRangeAfterCursor() {
+        // Given
+        PlayerView nadal = playerRepository.findViewsByPointsBetween(3000, 5000, 5000, 0, Limit.of(1)).get(0);
+
+        // When
+        List<PlayerView> players = playerRepository.findViewsByPointsBetween(3000, 5000, nadal.points(), nadal.id(), Limit.of(100));
+
+        // Then
+        Assertions.assertThat(players)
+                .extracting("lastName", "points")
+                .containsExactly(
+                        Tuple.tuple("DjokovicTest", 4000),
+                        Tuple.tuple("FedererTest", 3000));
+    }
+}
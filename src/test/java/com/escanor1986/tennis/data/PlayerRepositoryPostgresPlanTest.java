@@ -0,0 +1,72 @@
+package com.escanor1986.tennis.data;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+/**
+ * Vérifie sur un vrai PostgreSQL que les requêtes du repository utilisent les index des migrations V005 et V009
+ * ! Le test est ignoré si Docker n'est pas disponible
+ * ! Avec quelques lignes seulement, PostgreSQL préfère toujours un parcours séquentiel :
+ * ! on le désactive pour vérifier que l'index est bien utilisable par la requête
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = "spring.flyway.locations=classpath:db/migrations/common,classpath:db/migrations/{vendor},classpath:db/migrations/dev")
+public class PlayerRepositoryPostgresPlanTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void shouldUseLastNameIndex_WhenSearchingPlayerIgnoringCase() {
+        // When
+        String plan = explain("select * from player where upper(last_name) = upper('nadal')");
+
+        // Then
+        Assertions.assertThat(plan).contains("player_last_name_upper_key");
+    }
+
+    @Test
+    public void shouldUseRankIndex_WhenReadingPageAfterCursor() {
+        // When
+        String plan = explain("select * from player where (rank, id) > (1, 1) order by rank, id limit 3");
+
+        // Then
+        Assertions.assertThat(plan).contains("player_rank_id_idx");
+    }
+
+    @Test
+    public void shouldUsePointsIndex_WhenReadingPointsRange() {
+        // When
+        String plan = explain("select * from player where points between 3000 and 5000 order by points desc, id limit 100");
+
+        // Then
+        Assertions.assertThat(plan).contains("player_points_id_idx");
+    }
+
+    private String explain(String sql) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("set local enable_seqscan = off");
+            List<String> lines = jdbcTemplate.queryForList("explain " + sql, String.class);
+            return String.join("\n", lines);
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.escanor1986.tennis.data;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.List;
+
+public class PlayerViewList {
+
+    public static PlayerView RAFAEL_NADAL = new PlayerView(
+            1L,
+            "Rafael",
+            "Nadal",
+            LocalDate.of(1986, Month.JUNE, 3),
+            5000,
+            1
+    );
+
+    public static PlayerView NOVAK_DJOKOVIC = new PlayerView(
+            2L,
+            "Novak",
+            "Djokovic",
+            LocalDate.of(1987, Month.MAY, 22),
+            4000,
+            2
+    );
+
+    public static PlayerView ROGER_FEDERER = new PlayerView(
+            3L,
+            "Roger",
+            "Federer",
+            LocalDate.of(1981, Month.AUGUST, 8),
+            3000,
+            3
+    );
+
+    public static PlayerView ANDY_MURRAY = new PlayerView(
+            4L,
+            "Andy",
+            "Murray",
+            LocalDate.of(1987, Month.MAY, 15),
+            2000,
+            4
+    );
+
+    public static List<PlayerView> RANKING = Arrays.asList(RAFAEL_NADAL, NOVAK_DJOKOVIC, ROGER_FEDERER, ANDY_MURRAY);
+}
@@ -0,0 +1,93 @@
+package com.escanor1986.tennis.data;
+
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.PlayerToSave;
+import com.escanor1986.tennis.security.EscanorUserDetailsService;
+import com.escanor1986.tennis.service.PlayerService;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+// Deux bases H2 indépendantes jouent le primaire et la réplique : rien n'est répliqué,
+// la position de réplication de chaque base est simulée par la table replication_position
+@SpringBootTest(properties = {
+        "tennis.datasource.replica.enabled=true",
+        "tennis.datasource.replica.url=" + ReadReplicaRoutingIntegrationTest.REPLICA_URL,
+        "tennis.datasource.replica.username=postgres",
+        "tennis.datasource.replica.password=postgres",
+        "tennis.datasource.replica.lag-check-interval=0s",
+        "tennis.datasource.replica.primary-position-query=select position from replication_position",
+        "tennis.datasource.replica.replica-position-query=select position from replication_position" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ReadReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private EscanorUserDetailsService userDetailsService;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void clearDatabases(@Autowired Flyway flyway) {
+        flyway.clean();
+        flyway.migrate();
+        // La réplique reçoit le même schéma et les mêmes données, hors du pool en lecture seule
+        DriverManagerDataSource replicaAdmin = new DriverManagerDataSource(REPLICA_URL, "postgres", "postgres");
+        Flyway replicaFlyway = Flyway.configure().configuration(flyway.getConfiguration()).dataSource(replicaAdmin).load();
+        replicaFlyway.clean();
+        replicaFlyway.migrate();
+        primary = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+        replica = new JdbcTemplate(replicaAdmin);
+        for (JdbcTemplate database : new JdbcTemplate[] { primary, replica }) {
+            database.execute("create table replication_position (position bigint not null)");
+            database.update("insert into replication_position values (0)");
+        }
+    }
+
+    @Test
+    public void shouldReadFromReplica_WhenReplicaHasCaughtUp() {
+        // Given
+        replica.update("update player set first_name = 'Replica' where last_name = 'NadalTest'");
+        replica.update("insert into dyma_user (login, password, last_name, first_name) values ('replica', '{noop}secret', 'Replica', 'Only')");
+
+        // When
+        Player player = playerService.getByLastName("NadalTest");
+        Player firstRanked = playerService.getPlayersByRank(1, 1, null).players().get(0);
+
+        // Then
+        Assertions.assertThat(player.firstName()).isEqualTo("Replica");
+        Assertions.assertThat(firstRanked.firstName()).isEqualTo("Replica");
+        Assertions.assertThat(userDetailsService.loadUserByUsername("replica").getUsername()).isEqualTo("replica");
+    }
+
+    @Test
+    public void shouldReadFromPrimary_UntilReplicaHasReplayedCommittedWrites() {
+        // Given
+        playerService.create(new PlayerToSave("Jannik", "SinnerTest", LocalDate.of(2001, Month.AUGUST, 16), 6000));
+        primary.update("update replication_position set position = 1");
+
+        // When
+        Player behind = playerService.getPlayersByRank(1, 1, null).players().get(0);
+        replica.update("update replication_position set position = 1");
+        Player caughtUp = playerService.getPlayersByRank(1, 1, null).players().get(0);
+
+        // Then
+        Assertions.assertThat(behind.lastName()).isEqualTo("SinnerTest");
+        Assertions.assertThat(caughtUp.lastName()).isEqualTo("NadalTest");
+    }
+}
@@ -0,0 +1,62 @@
+package com.escanor1986.tennis.data;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.assertj.core.api.Assertions;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+public class ReplicationLagTrackerTest {
+
+    private final JdbcDataSource primary = h2("lag-primary");
+    private final JdbcDataSource replica = h2("lag-replica");
+    private final ReplicationLagTracker tracker = new ReplicationLagTracker(primary, replica, new ReplicaProperties(true,
+            null, null, null, 1, Duration.ZERO, "select position from replication_position", "select position from replication_position"),
+            new SimpleMeterRegistry());
+
+    @BeforeEach
+    void createPositions() {
+        for (JdbcDataSource dataSource : new JdbcDataSource[] { primary, replica }) {
+            JdbcTemplate database = new JdbcTemplate(dataSource);
+            database.execute("drop table if exists replication_position");
+            database.execute("create table replication_position (position bigint not null)");
+            database.update("insert into replication_position values (10)");
+        }
+    }
+
+    @Test
+    public void shouldWaitForReplica_UntilItReplaysCommittedWrites() {
+        // Given
+        Assertions.assertThat(tracker.replicaCaughtUp()).isTrue();
+        new JdbcTemplate(primary).update("update replication_position set position = 11");
+
+        // When
+        tracker.primaryCommitted();
+        boolean behind = tracker.replicaCaughtUp();
+        new JdbcTemplate(replica).update("update replication_position set position = 11");
+        boolean caughtUp = tracker.replicaCaughtUp();
+
+        // Then
+        Assertions.assertThat(behind).isFalse();
+        Assertions.assertThat(caughtUp).isTrue();
+    }
+
+    @Test
+    public void shouldFallBackToPrimary_WhenReplicaPositionIsUnreadable() {
+        // Given
+        new JdbcTemplate(replica).execute("drop table replication_position");
+
+        // When / Then
+        Assertions.assertThat(tracker.replicaCaughtUp()).isFalse();
+    }
+
+    private static JdbcDataSource h2(String name) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+}
@@ -0,0 +1,66 @@
+package com.escanor1986.tennis.security;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PasswordHashingTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void shouldRejectLoginsBeyondQueueCapacity() throws Exception {
+        // Given
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(new PasswordHashingProperties(1, 1, 4), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = executor.submit(() -> awaitQuietly(release));
+        CompletableFuture<Boolean> queued = executor.submit(() -> true);
+
+        // When / Then
+        assertThrows(LoginCapacityExceededException.class, () -> executor.submit(() -> true));
+        Assertions.assertThat(meterRegistry.get("tennis.security.login.rejected").counter().count()).isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("executor.queued").tag("name", "password-hashing").gauge().value()).isEqualTo(1);
+        release.countDown();
+        Assertions.assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        Assertions.assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        executor.destroy();
+    }
+
+    @Test
+    public void shouldUpgradeLegacyAndWeakerHashes() {
+        // Given
+        PasswordEncoder passwordEncoder = new SecurityConfiguration(null)
+                .passwordEncoder(new PasswordHashingProperties(0, 64, 5), meterRegistry);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        // When
+        String upgradedHash = passwordEncoder.encode("secret");
+
+        // Then
+        Assertions.assertThat(passwordEncoder.matches("secret", legacyHash)).isTrue();
+        Assertions.assertThat(passwordEncoder.upgradeEncoding(legacyHash)).isTrue();
+        Assertions.assertThat(passwordEncoder.upgradeEncoding("{bcrypt}" + legacyHash)).isTrue();
+        Assertions.assertThat(upgradedHash).startsWith("{bcrypt}$2a$05$");
+        Assertions.assertThat(passwordEncoder.upgradeEncoding(upgradedHash)).isFalse();
+        Assertions.assertThat(meterRegistry.get(TimedPasswordEncoder.HASH_TIMER).tag("operation", "matches").timer().count()).isEqualTo(1);
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
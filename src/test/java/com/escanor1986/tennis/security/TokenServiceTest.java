@@ -0,0 +1,111 @@
+package com.escanor1986.tennis.security;
+
+import com.escanor1986.tennis.model.AccessToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final TokenService tokenService = new TokenService(new TokenProperties(true, SECRET, Duration.ofHours(1)), new ObjectMapper());
+
+    private final Authentication admin = UsernamePasswordAuthenticationToken.authenticated("admin", "password",
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")));
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void shouldVerifyIssuedToken() {
+        // Given
+        AccessToken accessToken = tokenService.issue(admin);
+
+        // When
+        Authentication authentication = tokenService.verify(accessToken.token()).orElseThrow();
+
+        // Then
+        Assertions.assertThat(accessToken.tokenType()).isEqualTo("Bearer");
+        Assertions.assertThat(accessToken.expiresIn()).isEqualTo(3600);
+        Assertions.assertThat(authentication.getName()).isEqualTo("admin");
+        Assertions.assertThat(authentication.getCredentials()).isNull();
+        Assertions.assertThat(authentication.getAuthorities()).extracting("authority")
+                .containsExactly("ROLE_ADMIN", "ROLE_USER");
+    }
+
+    @Test
+    public void shouldRejectTamperedOrForeignToken() {
+        // Given
+        String token = tokenService.issue(admin).token();
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + parts[1].substring(0, parts[1].length() - 2) + "xx." + parts[2];
+        TokenService otherInstance = new TokenService(new TokenProperties(true, SECRET.toUpperCase(), Duration.ofHours(1)), new ObjectMapper());
+
+        // When / Then
+        Assertions.assertThat(tokenService.verify(tampered)).isEmpty();
+        Assertions.assertThat(tokenService.verify("not-a-token")).isEmpty();
+        Assertions.assertThat(otherInstance.verify(token)).isEmpty();
+    }
+
+    @Test
+    public void shouldRejectExpiredToken() {
+        // Given
+        TokenService expiringTokenService = new TokenService(new TokenProperties(true, SECRET, Duration.ofSeconds(-1)), new ObjectMapper());
+
+        // When
+        String token = expiringTokenService.issue(admin).token();
+
+        // Then
+        Assertions.assertThat(expiringTokenService.verify(token)).isEmpty();
+    }
+
+    @Test
+    public void shouldRefuseShortSecret() {
+        // Given / When / Then
+        assertThrows(IllegalStateException.class,
+                () -> new TokenService(new TokenProperties(true, "too-short", Duration.ofHours(1)), new ObjectMapper()));
+    }
+
+    @Test
+    public void shouldAuthenticateRequestWithBearerToken() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/players");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(admin).token());
+        AtomicReference<Authentication> authenticated = new AtomicReference<>();
+
+        // When
+        new TokenAuthenticationFilter(tokenService).doFilter(request, new MockHttpServletResponse(),
+                new MockFilterChain() {
+                    @Override
+                    public void doFilter(ServletRequest request, ServletResponse response) {
+                        authenticated.set(SecurityContextHolder.getContext().getAuthentication());
+                    }
+                });
+
+        // Then
+        Assertions.assertThat(authenticated.get().getName()).isEqualTo("admin");
+        Assertions.assertThat(request.getSession(false)).isNull();
+    }
+}
@@ -0,0 +1,58 @@
+package com.escanor1986.tennis.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EloRatingTest {
+
+    private final EloRating eloRating = new EloRating(32);
+
+    @Test
+    public void shouldShareHalfOfKFactor_WhenPlayersHaveSamePoints() {
+        // When
+        int pointsWon = eloRating.pointsWon(4000, 4000);
+
+        // Then
+        Assertions.assertThat(pointsWon).isEqualTo(16);
+    }
+
+    @Test
+    public void shouldRewardUnderdogMoreThanFavourite() {
+        // When
+        int underdogWin = eloRating.pointsWon(3800, 4000);
+        int favouriteWin = eloRating.pointsWon(4000, 3800);
+
+        // Then
+        Assertions.assertThat(underdogWin).isEqualTo(24);
+        Assertions.assertThat(favouriteWin).isEqualTo(8);
+        Assertions.assertThat(underdogWin + favouriteWin).isEqualTo(32);
+    }
+
+    @Test
+    public void shouldKeepPointsWonBetweenOneAndKFactor() {
+        // When
+        int expectedWin = eloRating.pointsWon(10000, 0);
+        int unexpectedWin = eloRating.pointsWon(0, 10000);
+
+        // Then
+        Assertions.assertThat(expectedWin).isEqualTo(1);
+        Assertions.assertThat(unexpectedWin).isEqualTo(32);
+    }
+
+    @Test
+    public void shouldNotLetLoserPointsGoBelowZero() {
+        // When
+        int loserPoints = EloRating.loserPointsAfter(10, 32);
+
+        // Then
+        Assertions.assertThat(loserPoints).isZero();
+    }
+
+    @Test
+    public void shouldRejectNonPositiveKFactor() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new EloRating(0));
+    }
+}
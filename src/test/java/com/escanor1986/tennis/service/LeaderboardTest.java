@@ -0,0 +1,215 @@
+package com.escanor1986.tennis.service;
+
+import com.escanor1986.tennis.data.PlayerEntity;
+import com.escanor1986.tennis.data.PlayerList;
+import com.escanor1986.tennis.data.PlayerRepository;
+import com.escanor1986.tennis.data.PlayerTableReloadedEvent;
+import com.escanor1986.tennis.data.PlayerView;
+import com.escanor1986.tennis.data.PlayerViewList;
+import com.escanor1986.tennis.model.RankingChange;
+
+import org.assertj.core.api.Assertions;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class LeaderboardTest {
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    private Leaderboard leaderboard;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Mockito.when(playerRepository.streamAllViewsByRank()).thenAnswer(invocation -> PlayerViewList.RANKING.stream());
+        leaderboard = new Leaderboard(playerRepository, Mockito.mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void shouldBuildSnapshotInRankingOrder() {
+        // When
+        LeaderboardSnapshot snapshot = leaderboard.current();
+
+        // Then
+        Assertions.assertThat(snapshot.players())
+                .extracting("lastName")
+                .containsExactly("Nadal", "Djokovic", "Federer", "Murray");
+        Assertions.assertThat(snapshot.find("FEDERER")).contains(PlayerList.ROGER_FEDERER);
+    }
+
+    @Test
+    public void shouldShiftFollowingPlayers_WhenPlayerIsInserted() {
+        // Given
+        long previousVersion = leaderboard.current().version();
+        PlayerEntity alcaraz = new PlayerEntity("Alcaraz", "Carlos", LocalDate.of(2003, Month.MAY, 5), 4500, 2);
+
+        // When
+        leaderboard.playerSaved(alcaraz);
+
+        // Then
+        LeaderboardSnapshot snapshot = leaderboard.current();
+        Assertions.assertThat(snapshot.version()).isGreaterThan(previousVersion);
+        Assertions.assertThat(snapshot.players())
+                .extracting("lastName", "rank.position")
+                .containsExactly(
+                        Tuple.tuple("Nadal", 1),
+                        Tuple.tuple("Alcaraz", 2),
+                        Tuple.tuple("Djokovic", 3),
+                        Tuple.tuple("Federer", 4),
+                        Tuple.tuple("Murray", 5));
+    }
+
+    @Test
+    public void shouldMovePlayer_WhenPlayerIsSavedTwice() {
+        // Given
+        leaderboard.current();
+        PlayerEntity nadal = new PlayerEntity("Nadal", "Rafael", LocalDate.of(1986, Month.JUNE, 3), 2500, 3);
+
+        // When
+        leaderboard.playerSaved(nadal);
+        leaderboard.playerSaved(nadal);
+
+        // Then
+        Assertions.assertThat(leaderboard.current().players())
+                .extracting("lastName", "rank.position")
+                .containsExactly(
+                        Tuple.tuple("Djokovic", 1),
+                        Tuple.tuple("Federer", 2),
+                        Tuple.tuple("Nadal", 3),
+                        Tuple.tuple("Murray", 4));
+    }
+
+    @Test
+    public void shouldMergeWholeBatch_WhenSeveralPlayersAreSavedTogether() {
+        // Given
+        leaderboard.current();
+        PlayerEntity murray = new PlayerEntity("Murray", "Andy", LocalDate.of(1987, Month.MAY, 15), 7000, 1);
+        PlayerEntity alcaraz = new PlayerEntity("Alcaraz", "Carlos", LocalDate.of(2003, Month.MAY, 5), 4500, 3);
+        PlayerEntity nadal = new PlayerEntity("Nadal", "Rafael", LocalDate.of(1986, Month.JUNE, 3), 100, 5);
+
+        // When
+        leaderboard.playersSaved(List.of(nadal, alcaraz, murray));
+
+        // Then
+        LeaderboardSnapshot snapshot = leaderboard.current();
+        Assertions.assertThat(snapshot.players())
+                .extracting("lastName", "rank.position")
+                .containsExactly(
+                        Tuple.tuple("Murray", 1),
+                        Tuple.tuple("Djokovic", 2),
+                        Tuple.tuple("Alcaraz", 3),
+                        Tuple.tuple("Federer", 4),
+                        Tuple.tuple("Nadal", 5));
+        Assertions.assertThat(snapshot.find("federer")).hasValueSatisfying(
+                federer -> Assertions.assertThat(federer.rank().position()).isEqualTo(4));
+        Assertions.assertThat(snapshot.search("carl", 10)).extracting("lastName").containsExactly("Alcaraz");
+    }
+
+    @Test
+    public void shouldCloseGap_WhenPlayerIsRemoved() {
+        // Given
+        leaderboard.current();
+
+        // When
+        leaderboard.playerRemoved("djokovic");
+
+        // Then
+        Assertions.assertThat(leaderboard.current().players())
+                .extracting("lastName", "rank.position")
+                .containsExactly(Tuple.tuple("Nadal", 1), Tuple.tuple("Federer", 2), Tuple.tuple("Murray", 3));
+    }
+
+    @Test
+    public void shouldSearchByPrefixWithCurrentRanks_AfterPlayerIsInserted() {
+        // Given
+        leaderboard.current();
+        PlayerEntity nishikori = new PlayerEntity("Nishikori", "Kei", LocalDate.of(1989, Month.DECEMBER, 29), 6000, 1);
+
+        // When
+        leaderboard.playerSaved(nishikori);
+
+        // Then
+        Assertions.assertThat(leaderboard.current().search("n", 10))
+                .extracting("lastName", "rank.position")
+                .containsExactly(
+                        Tuple.tuple("Nadal", 2),
+                        Tuple.tuple("Nishikori", 1),
+                        Tuple.tuple("Djokovic", 3));
+    }
+
+    @Test
+    public void shouldKeepFuzzyIndexUpToDate_WhenRankingIsRecomputed() {
+        // Given
+        leaderboard.current();
+        PlayerEntity alcaraz = new PlayerEntity("Alcaraz", "Carlos", LocalDate.of(2003, Month.MAY, 5), 4500, 2);
+        leaderboard.onRankingRecomputed(new RankingRecomputedEvent(4));
+
+        // When
+        leaderboard.playerSaved(alcaraz);
+        leaderboard.playerRemoved("federer");
+
+        // Then
+        Mockito.when(playerRepository.streamAllViewsByRank()).thenAnswer(invocation -> Stream.of(
+                PlayerViewList.RAFAEL_NADAL,
+                new PlayerView(5L, "Carlos", "Alcaraz", LocalDate.of(2003, Month.MAY, 5), 4500, 2),
+                PlayerViewList.NOVAK_DJOKOVIC,
+                PlayerViewList.ANDY_MURRAY));
+        Assertions.assertThat(leaderboard.fuzzySearch("Alcarez", 3))
+                .extracting("lastName", "rank.position")
+                .containsExactly(Tuple.tuple("Alcaraz", 2));
+        Assertions.assertThat(leaderboard.fuzzySearch("Federr", 3)).isEmpty();
+    }
+
+    @Test
+    public void shouldRebuildFromDatabase_WhenPlayerTableIsReloaded() {
+        // Given
+        long previousVersion = leaderboard.current().version();
+
+        // When
+        leaderboard.onPlayerTableReloaded(new PlayerTableReloadedEvent());
+
+        // Then
+        Assertions.assertThat(leaderboard.current().version()).isGreaterThan(previousVersion);
+        Mockito.verify(playerRepository, Mockito.times(2)).streamAllViewsByRank();
+    }
+
+    @Test
+    public void shouldPublishDeltaToListeners_WhenPlayerIsSaved() {
+        // Given
+        leaderboard.current();
+        LeaderboardListener listener = Mockito.mock(LeaderboardListener.class);
+        leaderboard.addListener(listener);
+        PlayerEntity alcaraz = new PlayerEntity("Alcaraz", "Carlos", LocalDate.of(2003, Month.MAY, 5), 4500, 2);
+
+        // When
+        leaderboard.playerSaved(alcaraz);
+        leaderboard.playerRemoved("Murray");
+        String version = leaderboard.version().eTag();
+        leaderboard.onRankingRecomputed(new RankingRecomputedEvent(1));
+
+        // Then
+        ArgumentCaptor<RankingChange> changes = ArgumentCaptor.forClass(RankingChange.class);
+        Mockito.verify(listener, Mockito.times(2)).onChange(changes.capture());
+        Mockito.verify(listener).onReset();
+        Assertions.assertThat(changes.getAllValues())
+                .extracting("players", "removed")
+                .containsExactly(
+                        Tuple.tuple(List.of(PlayerService.toPlayer(alcaraz)), List.of()),
+                        Tuple.tuple(List.of(), List.of("Murray")));
+        Assertions.assertThat(changes.getAllValues().get(1).version()).isEqualTo(version);
+    }
+}
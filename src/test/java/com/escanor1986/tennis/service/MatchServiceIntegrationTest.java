@@ -0,0 +1,131 @@
+package com.escanor1986.tennis.service;
+
+import org.assertj.core.api.Assertions;
+import org.assertj.core.groups.Tuple;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.escanor1986.tennis.data.MatchResultRepository;
+import com.escanor1986.tennis.model.MatchResult;
+import com.escanor1986.tennis.model.MatchResultToSave;
+import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.PlayerToSave;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class MatchServiceIntegrationTest {
+
+    private static final LocalDate PLAYED_ON = LocalDate.of(2025, Month.JANUARY, 26);
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private MatchResultRepository matchResultRepository;
+
+    @BeforeEach
+    void clearDatabase(@Autowired Flyway flyway) {
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Test
+    public void shouldUpdatePointsAndRanksOfBothPlayers() {
+        // Given : Alcaraz (4020) est classé juste devant Djokovic (4000)
+        playerService.create(new PlayerToSave("Carlos", "AlcarazTest", LocalDate.of(2003, Month.MAY, 5), 4020));
+        playerService.getAllPlayers();
+
+        // When : Djokovic gagne 17 points et passe devant Alcaraz
+        MatchResult result = matchService.record(new MatchResultToSave("djokovictest", "AlcarazTest", PLAYED_ON));
+
+        // Then
+        Assertions.assertThat(result.ratingChange()).isEqualTo(17);
+        Assertions.assertThat(result.winnerPoints()).isEqualTo(4017);
+        Assertions.assertThat(result.loserPoints()).isEqualTo(4003);
+        Assertions.assertThat(playerService.getAllPlayers())
+                .extracting("lastName", "rank.position", "rank.points")
+                .containsExactly(
+                        Tuple.tuple("NadalTest", 1, 5000),
+                        Tuple.tuple("DjokovicTest", 2, 4017),
+                        Tuple.tuple("AlcarazTest", 3, 4003),
+                        Tuple.tuple("FedererTest", 4, 3000));
+        Assertions.assertThat(playerService.getPlayersByRank(1, 4, null).players())
+                .extracting("lastName")
+                .containsExactly("NadalTest", "DjokovicTest", "AlcarazTest", "FedererTest");
+        Assertions.assertThat(matchResultRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldApplyBatchInOrder() {
+        // Given
+        List<MatchResultToSave> results = List.of(
+                new MatchResultToSave("FedererTest", "DjokovicTest", PLAYED_ON),
+                new MatchResultToSave("FedererTest", "NadalTest", PLAYED_ON),
+                new MatchResultToSave("DjokovicTest", "FedererTest", PLAYED_ON.plusDays(1)));
+
+        // When
+        List<MatchResult> recorded = matchService.recordAll(results);
+
+        // Then : chaque résultat part des points laissés par le précédent
+        Assertions.assertThat(recorded).hasSize(3);
+        Assertions.assertThat(recorded.get(1).winnerPoints())
+                .isEqualTo(recorded.get(0).winnerPoints() + recorded.get(1).ratingChange());
+        Assertions.assertThat(recorded.get(2).loserPoints())
+                .isEqualTo(recorded.get(1).winnerPoints() - recorded.get(2).ratingChange());
+        Assertions.assertThat(playerService.getByLastName("FedererTest").rank().points())
+                .isEqualTo(recorded.get(2).loserPoints());
+        Assertions.assertThat(playerService.getByLastName("DjokovicTest").rank().points())
+                .isEqualTo(recorded.get(2).winnerPoints());
+        Assertions.assertThat(playerService.getAllPlayers())
+                .extracting("lastName", "rank.position")
+                .containsExactly(
+                        Tuple.tuple("NadalTest", 1),
+                        Tuple.tuple("DjokovicTest", 2),
+                        Tuple.tuple("FedererTest", 3));
+        Assertions.assertThat(matchResultRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldRejectWholeBatch_WhenPlayerDoesNotExist() {
+        // Given
+        List<MatchResultToSave> results = List.of(
+                new MatchResultToSave("FedererTest", "NadalTest", PLAYED_ON),
+                new MatchResultToSave("FedererTest", "DoeTest", PLAYED_ON));
+
+        // When
+        Exception exception = assertThrows(PlayerNotFoundException.class, () -> matchService.recordAll(results));
+
+        // Then
+        Assertions.assertThat(exception.getMessage()).isEqualTo("Player with last name DoeTest could not be found.");
+        Assertions.assertThat(playerService.getByLastName("FedererTest").rank().points()).isEqualTo(3000);
+        Assertions.assertThat(matchResultRepository.count()).isZero();
+    }
+
+    @Test
+    public void shouldRejectMatch_WhenWinnerIsLoser() {
+        // Given
+        MatchResultToSave result = new MatchResultToSave("NadalTest", "nadaltest", PLAYED_ON);
+
+        // When
+        Exception exception = assertThrows(InvalidMatchResultException.class, () -> matchService.record(result));
+
+        // Then
+        Assertions.assertThat(exception.getMessage()).isEqualTo("Match result is not valid, NadalTest cannot be both winner and loser.");
+        Assertions.assertThat(playerService.getAllPlayers())
+                .extracting("lastName", "rank.points")
+                .contains(Tuple.tuple("NadalTest", 5000));
+    }
+}
@@ -0,0 +1,64 @@
+package com.escanor1986.tennis.service;
+
+import com.escanor1986.tennis.data.PlayerList;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class PlayerFuzzyIndexTest {
+
+    private PlayerFuzzyIndex playerFuzzyIndex;
+
+    @BeforeEach
+    public void setUp() {
+        playerFuzzyIndex = PlayerFuzzyIndex.of(PlayerList.ALL);
+    }
+
+    @Test
+    public void shouldFindPlayer_DespiteTypos() {
+        // When
+        List<String> extraLetter = playerFuzzyIndex.search("Djokovich", 3);
+        List<String> swappedLetters = playerFuzzyIndex.search("fedrer", 3);
+
+        // Then
+        Assertions.assertThat(extraLetter).containsExactly("DJOKOVIC");
+        Assertions.assertThat(swappedLetters).containsExactly("FEDERER");
+    }
+
+    @Test
+    public void shouldIgnoreNames_TooFarFromQuery() {
+        // When
+        List<String> lastNames = playerFuzzyIndex.search("Nishikori", 3);
+
+        // Then
+        Assertions.assertThat(lastNames).isEmpty();
+    }
+
+    @Test
+    public void shouldForgetRemovedPlayer_AndReleaseItsPostings() {
+        // Given
+        long initialBytes = playerFuzzyIndex.estimatedBytes();
+        playerFuzzyIndex.add("Medvedev");
+
+        // When
+        playerFuzzyIndex.remove("Medvedev");
+
+        // Then
+        Assertions.assertThat(playerFuzzyIndex.search("Medvedev", 3)).isEmpty();
+        Assertions.assertThat(playerFuzzyIndex.estimatedBytes()).isEqualTo(initialBytes).isPositive();
+    }
+
+    @Test
+    public void shouldStopEditDistance_OnceBoundIsExceeded() {
+        // When
+        int close = PlayerFuzzyIndex.distance("DJOKOVICH", "DJOKOVIC", 3);
+        int far = PlayerFuzzyIndex.distance("NADAL", "MURRAY", 2);
+
+        // Then
+        Assertions.assertThat(close).isEqualTo(1);
+        Assertions.assertThat(far).isEqualTo(3);
+    }
+}
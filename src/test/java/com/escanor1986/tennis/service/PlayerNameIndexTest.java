@@ -0,0 +1,91 @@
+package com.escanor1986.tennis.service;
+
+import com.escanor1986.tennis.data.PlayerList;
+import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.Rank;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+
+public class PlayerNameIndexTest {
+
+    private PlayerNameIndex playerNameIndex;
+
+    @BeforeEach
+    public void setUp() {
+        playerNameIndex = PlayerNameIndex.of(PlayerList.ALL);
+    }
+
+    @Test
+    public void shouldFindPlayersByLastNameOrFirstNamePrefix_IgnoringCase() {
+        // When
+        List<String> byLastName = playerNameIndex.search("fed", 10);
+        List<String> byFirstName = playerNameIndex.search("NOV", 10);
+
+        // Then
+        Assertions.assertThat(byLastName).containsExactly("FEDERER");
+        Assertions.assertThat(byFirstName).containsExactly("DJOKOVIC");
+    }
+
+    @Test
+    public void shouldReturnPlayerOnce_WhenBothNamesMatch() {
+        // Given
+        Player player = new Player("Gaël", "Gaston", LocalDate.of(2000, Month.SEPTEMBER, 27), new Rank(5, 1000));
+        PlayerNameIndex index = playerNameIndex.updated(null, player);
+
+        // When
+        List<String> lastNames = index.search("ga", 10);
+
+        // Then
+        Assertions.assertThat(lastNames).containsExactly("GASTON");
+        Assertions.assertThat(index.size()).isEqualTo(playerNameIndex.size() + 2);
+    }
+
+    @Test
+    public void shouldStopAtLimit() {
+        // When
+        List<String> lastNames = playerNameIndex.search("r", 1);
+
+        // Then
+        Assertions.assertThat(lastNames).containsExactly("NADAL");
+    }
+
+    @Test
+    public void shouldReindexPlayer_WhenFirstNameChangesOrPlayerIsRemoved() {
+        // Given
+        Player renamed = new Player("Rafa", "Nadal", LocalDate.of(1986, Month.JUNE, 3), new Rank(1, 5000));
+
+        // When
+        PlayerNameIndex updated = playerNameIndex.updated(PlayerList.RAFAEL_NADAL, renamed);
+        PlayerNameIndex removed = updated.updated(renamed, null);
+
+        // Then
+        Assertions.assertThat(updated.search("rafael", 10)).isEmpty();
+        Assertions.assertThat(updated.search("rafa", 10)).containsExactly("NADAL");
+        Assertions.assertThat(removed.search("nad", 10)).isEmpty();
+        Assertions.assertThat(removed.size()).isEqualTo(6);
+        Assertions.assertThat(playerNameIndex.search("rafael", 10)).containsExactly("NADAL");
+    }
+
+    @Test
+    public void shouldApplyWholeDelta_WhenSeveralPlayersChange() {
+        // Given
+        Player alcaraz = new Player("Carlos", "Alcaraz", LocalDate.of(2003, Month.MAY, 5), new Rank(2, 4500));
+        Player renamed = new Player("Rafa", "Nadal", LocalDate.of(1986, Month.JUNE, 3), new Rank(1, 5000));
+
+        // When
+        PlayerNameIndex updated = playerNameIndex.updated(List.of(PlayerList.RAFAEL_NADAL, PlayerList.ROGER_FEDERER), List.of(alcaraz, renamed));
+
+        // Then
+        Assertions.assertThat(updated.search("carl", 10)).containsExactly("ALCARAZ");
+        Assertions.assertThat(updated.search("rafa", 10)).containsExactly("NADAL");
+        Assertions.assertThat(updated.search("rafael", 10)).isEmpty();
+        Assertions.assertThat(updated.search("fed", 10)).isEmpty();
+        Assertions.assertThat(updated.size()).isEqualTo(playerNameIndex.size());
+    }
+}
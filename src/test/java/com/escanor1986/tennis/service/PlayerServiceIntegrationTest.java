@@ -52,6 +52,27 @@ public class PlayerServiceIntegrationTest {
         Assertions.assertThat(createdPlayer.rank().position()).isEqualTo(1);
     }
 
+    @Test
+    public void shouldFindImportedPlayers_WithFuzzySearch() {
+        // Given
+        playerService.fuzzySearchPlayers("NadalTest", 1);
+        List<PlayerToSave> playersToSave = List.of(
+                new PlayerToSave("Carlos", "Alcaraz", LocalDate.of(2003, Month.MAY, 5), 4500),
+                new PlayerToSave("Casper", "Ruud", LocalDate.of(1998, Month.DECEMBER, 22), 2000)
+        );
+
+        // When
+        playerService.createAll(playersToSave);
+
+        // Then
+        Assertions.assertThat(playerService.fuzzySearchPlayers("Alcarez", 3))
+                .extracting("lastName", "rank.position")
+                .containsExactly(Tuple.tuple("Alcaraz", 2));
+        Assertions.assertThat(playerService.fuzzySearchPlayers("Rud", 3))
+                .extracting("lastName")
+                .contains("Ruud");
+    }
+
     @Test
     public void shouldUpdatePlayer() {
         // Given
@@ -1,8 +1,11 @@
 package com.escanor1986.tennis.service;
 
-import com.escanor1986.tennis.data.PlayerEntityList;
 import com.escanor1986.tennis.data.PlayerRepository;
+import com.escanor1986.tennis.data.PlayerView;
+import com.escanor1986.tennis.data.PlayerViewList;
 import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.PlayerPage;
+import com.escanor1986.tennis.model.PlayerToSave;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,9 +14,16 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -27,13 +37,16 @@ public class PlayerServiceTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        playerService = new PlayerService(playerRepository);
+        RankingEngine rankingEngine = new RankingEngine(playerRepository, event -> { }, new SimpleMeterRegistry());
+        PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        playerService = new PlayerService(playerRepository, rankingEngine, new Leaderboard(playerRepository, transactionManager, new SimpleMeterRegistry()),
+                new RankingWriter(transactionManager, rankingEngine, new SimpleMeterRegistry(), Duration.ofMillis(2), 256, Duration.ofSeconds(30)));
     }
 
     @Test
     public void shouldReturnPlayersRanking() {
         // Given
-        Mockito.when(playerRepository.findAll()).thenReturn(PlayerEntityList.ALL);
+        Mockito.when(playerRepository.streamAllViewsByRank()).thenAnswer(invocation -> PlayerViewList.RANKING.stream());
 
         // When
         List<Player> allPlayers = playerService.getAllPlayers();
@@ -48,8 +61,7 @@ public class PlayerServiceTest {
     public void shouldRetrievePlayer() {
         // Given
         String playerToRetrieve = "nadal";
-        Mockito.when(playerRepository.findOneByLastNameIgnoreCase(playerToRetrieve))
-                .thenReturn(Optional.of(PlayerEntityList.RAFAEL_NADAL));
+        Mockito.when(playerRepository.streamAllViewsByRank()).thenAnswer(invocation -> PlayerViewList.RANKING.stream());
 
         // When
         Player retrievedPlayer = playerService.getByLastName(playerToRetrieve);
@@ -60,13 +72,13 @@ public class PlayerServiceTest {
 
     /** 
      * Teste si une exception est levée lorsqu'une erreur d'accès aux données se produit
-     * !On contrôle le comportement du repository en l'utilisant sous forme de mock en vérifiant que la méthode findAll() lève une exception de type DataAccessException
+     * !On contrôle le comportement du repository en l'utilisant sous forme de mock en vérifiant que la méthode streamAllViewsByRank() lève une exception de type DataAccessException
      * !On vérifie que l'exception levée est bien de type PlayerDataRetrievalException
      */
     @Test
     public void shouldFailToReturnPlayersRanking_WhenDataAccessExceptionOccurs() {
         // Given
-        Mockito.when(playerRepository.findAll()).thenThrow(new DataRetrievalFailureException("Data access error"));
+        Mockito.when(playerRepository.streamAllViewsByRank()).thenThrow(new DataRetrievalFailureException("Data access error"));
 
         // When / Then
         Exception exception = assertThrows(PlayerDataRetrievalException.class, () -> {
@@ -79,7 +91,7 @@ public class PlayerServiceTest {
     public void shouldFailToRetrievePlayer_WhenPlayerDoesNotExist() {
         // Given
         String unknownPlayer = "doe";
-        Mockito.when(playerRepository.findOneByLastNameIgnoreCase(unknownPlayer)).thenReturn(Optional.empty());
+        Mockito.when(playerRepository.streamAllViewsByRank()).thenAnswer(invocation -> PlayerViewList.RANKING.stream());
 
         // When / Then
         Exception exception = assertThrows(PlayerNotFoundException.class, () -> {
@@ -87,4 +99,87 @@ public class PlayerServiceTest {
         });
         Assertions.assertThat(exception.getMessage()).isEqualTo("Player with last name doe could not be found.");
     }
+
+    @Test
+    public void shouldReturnTopPlayers() {
+        // Given
+        Mockito.when(playerRepository.streamAllViewsByRank()).thenAnswer(invocation -> PlayerViewList.RANKING.stream());
+
+        // When
+        List<Player> topPlayers = playerService.getTopPlayers(2);
+        List<Player> tooManyPlayers = playerService.getTopPlayers(1_000);
+
+        // Then
+        Assertions.assertThat(topPlayers)
+                .extracting("lastName")
+                .containsExactly("Nadal", "Djokovic");
+        Assertions.assertThat(tooManyPlayers).hasSize(4);
+    }
+
+    @Test
+    public void shouldReturnPlayersPageWithNextCursor() {
+        // Given
+        Mockito.when(playerRepository.findViewsRankedAfter(1, 1L, Limit.of(3))).thenReturn(new ArrayList<>(List.of(
+                PlayerViewList.NOVAK_DJOKOVIC,
+                PlayerViewList.ROGER_FEDERER,
+                PlayerViewList.ANDY_MURRAY)));
+
+        // When
+        PlayerPage page = playerService.getPlayersPage(2, "1,1");
+
+        // Then
+        Assertions.assertThat(page.players())
+                .extracting("lastName")
+                .containsExactly("Djokovic", "Federer");
+        Assertions.assertThat(page.nextCursor()).isEqualTo("3,3");
+    }
+
+    @Test
+    public void shouldFailToReturnPlayersPage_WhenCursorIsInvalid() {
+        // When / Then
+        Exception exception = assertThrows(InvalidPlayerCursorException.class, () -> {
+            playerService.getPlayersPage(2, "abc");
+        });
+        Assertions.assertThat(exception.getMessage()).isEqualTo("Cursor abc is not valid, expected format is rank,id.");
+    }
+
+    @Test
+    public void shouldReturnPointsRangePageWithNextCursor_WhenRangeExceedsPageSize() {
+        // Given
+        List<PlayerView> players = IntStream.rangeClosed(1, PlayerService.MAX_PAGE_SIZE + 1)
+                .mapToObj(i -> new PlayerView((long) i, "Player", "Player" + i, LocalDate.of(1990, 1, 1), 5000 - i, i))
+                .toList();
+        Mockito.when(playerRepository.findViewsByPointsBetween(0, 5000, 5000, 0L, Limit.of(PlayerService.MAX_PAGE_SIZE + 1))).thenReturn(players);
+
+        // When
+        PlayerPage page = playerService.getPlayersByPoints(0, 5000, null);
+
+        // Then
+        Assertions.assertThat(page.players()).hasSize(PlayerService.MAX_PAGE_SIZE);
+        Assertions.assertThat(page.nextCursor()).isEqualTo("4900,100");
+    }
+
+    @Test
+    public void shouldFailToReturnPointsRange_WhenBoundIsMissing() {
+        // When / Then
+        Exception exception = assertThrows(InvalidPlayerRangeException.class, () -> {
+            playerService.getPlayersByPoints(100, null, null);
+        });
+        Assertions.assertThat(exception.getMessage()).isEqualTo("Range on points is not valid, both bounds are required.");
+    }
+
+    @Test
+    public void shouldFailToCreatePlayersInBatch_WhenBatchIsTooLarge() {
+        // Given
+        List<PlayerToSave> playersToSave = IntStream.rangeClosed(0, PlayerService.MAX_BATCH_SIZE)
+                .mapToObj(i -> new PlayerToSave("First" + i, "Last" + i, LocalDate.of(2000, 1, 1), 100))
+                .toList();
+
+        // When / Then
+        Exception exception = assertThrows(BatchTooLargeException.class, () -> {
+            playerService.createAll(playersToSave);
+        });
+        Assertions.assertThat(exception.getMessage()).isEqualTo("A batch cannot contain more than 10000 players, 10001 received.");
+        Mockito.verifyNoInteractions(playerRepository);
+    }
 }
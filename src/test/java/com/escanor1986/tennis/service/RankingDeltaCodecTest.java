@@ -0,0 +1,87 @@
+package com.escanor1986.tennis.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.escanor1986.tennis.data.PlayerRankingEntry;
+import com.escanor1986.tennis.model.Rank;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+public class RankingDeltaCodecTest {
+
+    private static final RankingDeltaCodec.State WEEK_1 = RankingDeltaCodec.State.of(List.of(
+            new PlayerRankingEntry(1L, 5000, 1),
+            new PlayerRankingEntry(2L, 4000, 2),
+            new PlayerRankingEntry(3L, 3000, 3)));
+
+    // Federer passe devant Djokovic, Nadal est supprimé, Murray (id 2000, autre paquet) arrive
+    private static final RankingDeltaCodec.State WEEK_2 = RankingDeltaCodec.State.of(List.of(
+            new PlayerRankingEntry(2L, 3900, 2),
+            new PlayerRankingEntry(3L, 4100, 1),
+            new PlayerRankingEntry(2000L, 100, 3)));
+
+    @Test
+    public void shouldReplayDeltaOnPreviousState() {
+        // Given
+        SortedMap<Integer, byte[]> keyframe = RankingDeltaCodec.encode(RankingDeltaCodec.State.EMPTY, WEEK_1);
+        SortedMap<Integer, byte[]> delta = RankingDeltaCodec.encode(WEEK_1, WEEK_2);
+
+        // When
+        RankingDeltaCodec.State week1 = RankingDeltaCodec.apply(RankingDeltaCodec.State.EMPTY, keyframe);
+        RankingDeltaCodec.State week2 = RankingDeltaCodec.apply(week1, delta);
+
+        // Then
+        Assertions.assertThat(delta).containsOnlyKeys(0, 1);
+        Assertions.assertThat(week2.size()).isEqualTo(3);
+        Assertions.assertThat(week2.find(1L)).isNull();
+        Assertions.assertThat(week2.find(2L)).isEqualTo(new Rank(2, 3900));
+        Assertions.assertThat(week2.find(3L)).isEqualTo(new Rank(1, 4100));
+        Assertions.assertThat(week2.find(2000L)).isEqualTo(new Rank(3, 100));
+    }
+
+    @Test
+    public void shouldReplayDeltaForSinglePlayer() {
+        // Given
+        byte[] keyframe = RankingDeltaCodec.encode(RankingDeltaCodec.State.EMPTY, WEEK_1).get(0);
+        byte[] delta = RankingDeltaCodec.encode(WEEK_1, WEEK_2).get(0);
+
+        // When
+        Rank federer = RankingDeltaCodec.apply(RankingDeltaCodec.apply(null, 0, keyframe, 3L), 0, delta, 3L);
+        Rank nadal = RankingDeltaCodec.apply(RankingDeltaCodec.apply(null, 0, keyframe, 1L), 0, delta, 1L);
+
+        // Then
+        Assertions.assertThat(federer).isEqualTo(new Rank(1, 4100));
+        Assertions.assertThat(nadal).isNull();
+    }
+
+    @Test
+    public void shouldStoreNothing_WhenRankingHasNotChanged() {
+        // When
+        SortedMap<Integer, byte[]> delta = RankingDeltaCodec.encode(WEEK_1, WEEK_1);
+
+        // Then
+        Assertions.assertThat(delta).isEmpty();
+    }
+
+    @Test
+    public void shouldEncodeSmallChangesOnFewBytes() {
+        // Given : 10 000 joueurs dont les 100 premiers échangent leur place deux à deux
+        List<PlayerRankingEntry> before = new ArrayList<>();
+        List<PlayerRankingEntry> after = new ArrayList<>();
+        for (int i = 1; i <= 10_000; i++) {
+            before.add(new PlayerRankingEntry((long) i, 100_000 - i, i));
+            int swapped = i > 100 ? i : (i % 2 == 0 ? i - 1 : i + 1);
+            after.add(new PlayerRankingEntry((long) i, 100_000 - swapped, swapped));
+        }
+
+        // When
+        SortedMap<Integer, byte[]> delta = RankingDeltaCodec.encode(RankingDeltaCodec.State.of(before), RankingDeltaCodec.State.of(after));
+
+        // Then : un octet pour l'écart d'identifiant, un pour le classement, un pour les points
+        Assertions.assertThat(delta).containsOnlyKeys(0);
+        Assertions.assertThat(delta.get(0)).hasSize(300);
+    }
+}
@@ -0,0 +1,92 @@
+package com.escanor1986.tennis.service;
+
+import org.assertj.core.api.Assertions;
+import org.assertj.core.groups.Tuple;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.escanor1986.tennis.data.RankingSnapshotRepository;
+import com.escanor1986.tennis.model.PlayerToSave;
+import com.escanor1986.tennis.model.RankHistoryEntry;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "tennis.ranking.history.keyframe-interval=2")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class RankingHistoryServiceIntegrationTest {
+
+    private static final Instant WEEK_1 = Instant.parse("2025-01-06T00:00:00Z");
+    private static final Instant WEEK_2 = Instant.parse("2025-01-13T00:00:00Z");
+    private static final Instant WEEK_3 = Instant.parse("2025-01-20T00:00:00Z");
+
+    @Autowired
+    private RankingHistoryService rankingHistoryService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private RankingSnapshotRepository snapshotRepository;
+
+    @BeforeEach
+    void clearDatabase(@Autowired Flyway flyway) {
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Test
+    public void shouldReplayPlayerHistory() {
+        // Given
+        rankingHistoryService.capture(WEEK_1);
+        playerService.update(new PlayerToSave("Roger", "FedererTest", LocalDate.of(1981, Month.AUGUST, 8), 4500));
+        rankingHistoryService.capture(WEEK_2);
+        playerService.update(new PlayerToSave("Roger", "FedererTest", LocalDate.of(1981, Month.AUGUST, 8), 6000));
+        rankingHistoryService.capture(WEEK_3);
+
+        // When
+        List<RankHistoryEntry> history = rankingHistoryService.getHistory("federertest", null, null);
+        List<RankHistoryEntry> lastWeeks = rankingHistoryService.getHistory("DjokovicTest", LocalDate.of(2025, Month.JANUARY, 10), null);
+
+        // Then
+        Assertions.assertThat(history)
+                .extracting("takenAt", "rank.position", "rank.points")
+                .containsExactly(
+                        Tuple.tuple(WEEK_1, 3, 3000),
+                        Tuple.tuple(WEEK_2, 2, 4500),
+                        Tuple.tuple(WEEK_3, 1, 6000));
+        Assertions.assertThat(lastWeeks)
+                .extracting("takenAt", "rank.position")
+                .containsExactly(Tuple.tuple(WEEK_2, 3), Tuple.tuple(WEEK_3, 3));
+        Assertions.assertThat(snapshotRepository.findAll())
+                .extracting("keyframe")
+                .containsExactly(true, false, true);
+    }
+
+    @Test
+    public void shouldReturnEmptyHistory_WhenNoSnapshotWasTaken() {
+        // When
+        List<RankHistoryEntry> history = rankingHistoryService.getHistory("NadalTest", null, null);
+
+        // Then
+        Assertions.assertThat(history).isEmpty();
+    }
+
+    @Test
+    public void shouldFailToReadHistory_WhenPlayerDoesNotExist() {
+        // When
+        Exception exception = assertThrows(PlayerNotFoundException.class,
+                () -> rankingHistoryService.getHistory("DoeTest", null, null));
+
+        // Then
+        Assertions.assertThat(exception.getMessage()).isEqualTo("Player with last name DoeTest could not be found.");
+    }
+}
@@ -0,0 +1,83 @@
+package com.escanor1986.tennis.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class RankingIndexTest {
+
+    private RankingIndex rankingIndex;
+
+    @BeforeEach
+    public void setUp() {
+        rankingIndex = new RankingIndex();
+        rankingIndex.insert(1L, 5000);
+        rankingIndex.insert(2L, 4000);
+        rankingIndex.insert(3L, 3000);
+    }
+
+    @Test
+    public void shouldReturnInsertionPosition() {
+        // When
+        int position = rankingIndex.insert(4L, 4500);
+
+        // Then
+        Assertions.assertThat(position).isEqualTo(2);
+        Assertions.assertThat(rankingIndex.positionOf(2L, 4000)).isEqualTo(3);
+        Assertions.assertThat(rankingIndex.size()).isEqualTo(4);
+    }
+
+    @Test
+    public void shouldRankOlderPlayerFirst_WhenPointsAreEqual() {
+        // When
+        int position = rankingIndex.insert(4L, 4000);
+
+        // Then
+        Assertions.assertThat(position).isEqualTo(3);
+        Assertions.assertThat(rankingIndex.positionOf(2L, 4000)).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldReturnFormerPosition_WhenPlayerIsRemoved() {
+        // When
+        int position = rankingIndex.remove(1L, 5000);
+
+        // Then
+        Assertions.assertThat(position).isEqualTo(1);
+        Assertions.assertThat(rankingIndex.positionOf(3L, 3000)).isEqualTo(2);
+        Assertions.assertThat(rankingIndex.remove(1L, 5000)).isZero();
+    }
+
+    @Test
+    public void shouldMatchFullSort_AfterRandomMutations() {
+        // Given
+        Random random = new Random(42);
+        List<long[]> players = new ArrayList<>();
+        RankingIndex index = new RankingIndex();
+        for (long id = 1; id <= 2000; id++) {
+            long[] player = { id, random.nextInt(500) };
+            players.add(player);
+            index.insert(id, (int) player[1]);
+        }
+
+        // When
+        for (int i = 0; i < 500; i++) {
+            long[] player = players.get(random.nextInt(players.size()));
+            index.remove(player[0], (int) player[1]);
+            player[1] = random.nextInt(500);
+            index.insert(player[0], (int) player[1]);
+        }
+
+        // Then
+        players.sort(Comparator.<long[]>comparingLong(player -> -player[1]).thenComparingLong(player -> player[0]));
+        for (int position = 1; position <= players.size(); position++) {
+            long[] player = players.get(position - 1);
+            Assertions.assertThat(index.positionOf(player[0], (int) player[1])).isEqualTo(position);
+        }
+    }
+}
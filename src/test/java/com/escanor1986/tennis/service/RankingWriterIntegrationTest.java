@@ -0,0 +1,197 @@
+package com.escanor1986.tennis.service;
+
+import org.assertj.core.api.Assertions;
+import org.assertj.core.groups.Tuple;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.escanor1986.tennis.data.PlayerRankingEntry;
+import com.escanor1986.tennis.data.PlayerRepository;
+import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.PlayerToSave;
+import com.escanor1986.tennis.model.RankingChange;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Fenêtre élargie : des écritures lancées ensemble sont regroupées dans un même lot
+@SpringBootTest(properties = "tennis.ranking.writer.window=50ms")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class RankingWriterIntegrationTest {
+
+    private static final int PLAYERS = 40;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ExecutorService clients = Executors.newFixedThreadPool(16);
+
+    @BeforeEach
+    void clearDatabase(@Autowired Flyway flyway) {
+        flyway.clean();
+        flyway.migrate();
+        playerService.createAll(IntStream.range(0, PLAYERS)
+                .mapToObj(i -> player("Writer" + i, 1000 + i))
+                .toList());
+    }
+
+    @AfterEach
+    void stopClients() {
+        clients.shutdownNow();
+    }
+
+    @Test
+    public void shouldKeepRankingConsistentUnderConcurrentWrites() throws Exception {
+        // Given
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writes = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            PlayerToSave update = player("Writer" + i, 5000 - 37 * i % 900);
+            writes.add(clients.submit(() -> {
+                start.await();
+                return playerService.update(update);
+            }));
+        }
+        for (int i = 0; i < 10; i++) {
+            PlayerToSave creation = player("Newcomer" + i, 4000 + i * 10);
+            writes.add(clients.submit(() -> {
+                start.await();
+                return playerService.create(creation);
+            }));
+        }
+        for (int i = 0; i < 5; i++) {
+            String lastName = "Writer" + (PLAYERS - 1 - i);
+            writes.add(clients.submit(() -> {
+                start.await();
+                playerService.delete(lastName);
+                return null;
+            }));
+        }
+
+        // When
+        start.countDown();
+        for (Future<?> write : writes) {
+            write.get();
+        }
+
+        // Then
+        List<PlayerRankingEntry> entries = playerRepository.findAllRankingEntries();
+        Assertions.assertThat(entries).hasSize(3 + PLAYERS + 10 - 5);
+        for (int position = 1; position <= entries.size(); position++) {
+            Assertions.assertThat(entries.get(position - 1).rank()).isEqualTo(position);
+        }
+        List<Player> allPlayers = playerService.getAllPlayers();
+        Assertions.assertThat(allPlayers)
+                .extracting(player -> player.rank().position())
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, entries.size()).boxed().toList());
+    }
+
+    @Test
+    public void shouldIsolateRejectedWriteFromItsBatch() throws Exception {
+        // Given
+        CountDownLatch start = new CountDownLatch(1);
+        Future<Player> missing = clients.submit(() -> {
+            start.await();
+            return playerService.update(player("Unknown", 100));
+        });
+        List<Future<Player>> updates = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            PlayerToSave update = player("Writer" + i, 9000 + i);
+            updates.add(clients.submit(() -> {
+                start.await();
+                return playerService.update(update);
+            }));
+        }
+
+        // When
+        start.countDown();
+
+        // Then
+        Assertions.assertThatThrownBy(missing::get).hasCauseInstanceOf(PlayerNotFoundException.class);
+        for (Future<Player> update : updates) {
+            update.get();
+        }
+        Assertions.assertThat(playerService.getByLastName("Writer9").rank().position()).isEqualTo(1);
+        Assertions.assertThat(playerService.getByLastName("Writer0").rank().position()).isEqualTo(10);
+    }
+
+    @Test
+    public void shouldPublishPostBatchPositionsWithoutRebuildingLeaderboard() throws Exception {
+        // Given
+        leaderboard.current();
+        long rebuilds = meterRegistry.get(Leaderboard.REBUILD_TIMER).timer().count();
+        List<RankingChange> changes = new CopyOnWriteArrayList<>();
+        AtomicInteger resets = new AtomicInteger();
+        leaderboard.addListener(new LeaderboardListener() {
+            @Override
+            public void onChange(RankingChange change) {
+                changes.add(change);
+            }
+
+            @Override
+            public void onReset() {
+                resets.incrementAndGet();
+            }
+        });
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Player>> updates = new ArrayList<>();
+        for (PlayerToSave update : List.of(player("Writer0", 9000), player("Writer1", 8000))) {
+            updates.add(clients.submit(() -> {
+                start.await();
+                return playerService.update(update);
+            }));
+        }
+
+        // When
+        start.countDown();
+        for (Future<Player> update : updates) {
+            update.get();
+        }
+
+        // Then
+        Assertions.assertThat(meterRegistry.get("tennis.ranking.writer.batch.size").summary().max()).isEqualTo(2);
+        Map<String, Integer> storedRanks = playerRepository.findAll().stream()
+                .collect(Collectors.toMap(player -> player.getLastName(), player -> player.getRank()));
+        Assertions.assertThat(playerService.getAllPlayers())
+                .allSatisfy(player -> Assertions.assertThat(player.rank().position()).isEqualTo(storedRanks.get(player.lastName())))
+                .extracting(Player::lastName)
+                .startsWith("Writer0", "Writer1");
+        Assertions.assertThat(changes).hasSize(1);
+        Assertions.assertThat(changes.get(0).players())
+                .extracting(Player::lastName, player -> player.rank().position())
+                .containsExactlyInAnyOrder(Tuple.tuple("Writer0", 1), Tuple.tuple("Writer1", 2));
+        Assertions.assertThat(resets).hasValue(0);
+        Assertions.assertThat(meterRegistry.get(Leaderboard.REBUILD_TIMER).timer().count()).isEqualTo(rebuilds);
+    }
+
+    private static PlayerToSave player(String lastName, int points) {
+        return new PlayerToSave("Test", lastName, LocalDate.of(2000, Month.JANUARY, 1), points);
+    }
+}
@@ -0,0 +1,85 @@
+package com.escanor1986.tennis.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RankingWriterTest {
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private final RankingWriter rankingWriter = new RankingWriter(Mockito.mock(PlatformTransactionManager.class),
+            Mockito.mock(RankingEngine.class), new SimpleMeterRegistry(), Duration.ofMillis(1), 256, Duration.ofMillis(200));
+
+    @AfterEach
+    void release() {
+        released.set(true);
+        rankingWriter.stop();
+    }
+
+    @Test
+    public void shouldFailPendingWriteAndWriteDirectly_WhenWriterThreadDies() {
+        // Given
+        rankingWriter.start();
+
+        // When
+        Exception exception = assertThrows(RankingWriterUnavailableException.class, () -> rankingWriter.write(() -> {
+            throw new AssertionError("Writer thread killed");
+        }));
+
+        // Then
+        Assertions.assertThat(exception.getMessage()).isEqualTo("Ranking writer is stopped, please retry later.");
+        Assertions.assertThat(rankingWriter.isRunning()).isFalse();
+        Assertions.assertThat(rankingWriter.write(() -> "direct")).isEqualTo("direct");
+    }
+
+    @Test
+    public void shouldStopWaiting_WhenWriteDoesNotCompleteInTime() {
+        // Given
+        rankingWriter.start();
+
+        // When
+        Exception exception = assertThrows(RankingWriterUnavailableException.class, () -> rankingWriter.write(this::blockUntilReleased));
+
+        // Then
+        Assertions.assertThat(exception.getMessage())
+                .isEqualTo("Ranking writer did not complete the write within 200 ms, please check the ranking before retrying.");
+    }
+
+    @Test
+    public void shouldFailQueuedWrites_WhenWriterStopsBeforeReachingThem() throws Exception {
+        // Given
+        rankingWriter.start();
+        CompletableFuture.runAsync(() -> rankingWriter.write(this::blockUntilReleased));
+        Thread.sleep(50);
+        CompletableFuture<Object> queued = CompletableFuture.supplyAsync(() -> rankingWriter.write(() -> "queued"));
+        Thread.sleep(50);
+
+        // When
+        rankingWriter.stop();
+
+        // Then
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> queued.get(1, TimeUnit.SECONDS));
+        Assertions.assertThat(exception.getCause()).isInstanceOf(RankingWriterUnavailableException.class);
+    }
+
+    // Attente insensible à l'interruption : le rédacteur reste occupé même quand stop() l'interrompt
+    private Object blockUntilReleased() {
+        while (!released.get()) {
+            Thread.onSpinWait();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,109 @@
+package com.escanor1986.tennis.web;
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import com.escanor1986.tennis.model.AccessToken;
+import com.escanor1986.tennis.model.UserCredentials;
+
+// Sans le profil test : la chaîne de filtres de sécurité est active
+// La vérification du mot de passe et l'enregistrement de l'authentification s'exécutent sur le pool password-hashing
+// Chaque mode a son propre contexte et son propre serveur : port et client sont injectés dans les classes imbriquées
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "tennis.security.password-hashing.strength=4")
+public class AccountControllerEndToEndTest {
+
+    @BeforeEach
+    void createUser(@Autowired Flyway flyway, @Autowired JdbcTemplate jdbcTemplate, @Autowired PasswordEncoder passwordEncoder) {
+        flyway.clean();
+        flyway.migrate();
+        jdbcTemplate.update("INSERT INTO public.dyma_user(login, password, last_name, first_name) VALUES ('user', ?, 'Doe', 'John')",
+                passwordEncoder.encode("secret"));
+        jdbcTemplate.update("INSERT INTO public.dyma_user_role(user_id, role_name) SELECT id, 'ROLE_USER' FROM public.dyma_user WHERE login = 'user'");
+    }
+
+    @Nested
+    class SessionMode {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Test
+        public void shouldStoreAuthenticationInSession() {
+            // Given
+            UserCredentials credentials = new UserCredentials("user", "secret");
+
+            // When
+            ResponseEntity<String> loginResponse = restTemplate.postForEntity("http://localhost:" + port + "/accounts/login", credentials, String.class);
+            HttpHeaders headers = new HttpHeaders();
+            headers.add(HttpHeaders.COOKIE, loginResponse.getHeaders().getFirst(HttpHeaders.SET_COOKIE));
+            ResponseEntity<String> playersResponse = restTemplate.exchange("http://localhost:" + port + "/players", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+            // Then
+            Assertions.assertThat(loginResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+            Assertions.assertThat(loginResponse.getHeaders().getFirst(HttpHeaders.SET_COOKIE)).startsWith("JSESSIONID=");
+            Assertions.assertThat(playersResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        @Test
+        public void shouldRefuseLogin_WhenPasswordIsWrong() {
+            // Given
+            UserCredentials credentials = new UserCredentials("user", "wrong");
+
+            // When
+            ResponseEntity<String> loginResponse = restTemplate.postForEntity("http://localhost:" + port + "/accounts/login", credentials, String.class);
+
+            // Then
+            Assertions.assertThat(loginResponse.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+            Assertions.assertThat(loginResponse.getHeaders().get(HttpHeaders.SET_COOKIE)).isNull();
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "tennis.security.token.enabled=true",
+            "tennis.security.token.secret=0123456789abcdef0123456789abcdef"
+    })
+    class TokenMode {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Test
+        public void shouldReturnBearerToken() {
+            // Given
+            UserCredentials credentials = new UserCredentials("user", "secret");
+
+            // When
+            ResponseEntity<AccessToken> loginResponse = restTemplate.postForEntity("http://localhost:" + port + "/accounts/login", credentials, AccessToken.class);
+            HttpHeaders headers = new HttpHeaders();
+            headers.setBearerAuth(loginResponse.getBody().token());
+            ResponseEntity<String> playersResponse = restTemplate.exchange("http://localhost:" + port + "/players", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+            // Then
+            Assertions.assertThat(loginResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+            Assertions.assertThat(loginResponse.getBody().tokenType()).isEqualTo("Bearer");
+            Assertions.assertThat(loginResponse.getHeaders().get(HttpHeaders.SET_COOKIE)).isNull();
+            Assertions.assertThat(playersResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+    }
+}
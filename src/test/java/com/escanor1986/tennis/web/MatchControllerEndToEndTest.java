@@ -0,0 +1,161 @@
+package com.escanor1986.tennis.web;
+import org.assertj.core.api.Assertions;
+import org.assertj.core.groups.Tuple;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.escanor1986.tennis.model.MatchResult;
+import com.escanor1986.tennis.model.MatchResultToSave;
+import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.UserCredentials;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+
+// Sans le profil test : la règle POST /matches/** réservée aux administrateurs est vérifiée
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "tennis.security.password-hashing.strength=4")
+public class MatchControllerEndToEndTest {
+
+    private static final LocalDate PLAYED_ON = LocalDate.of(2025, Month.JANUARY, 12);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @BeforeEach
+    void createUsers(@Autowired Flyway flyway, @Autowired JdbcTemplate jdbcTemplate, @Autowired PasswordEncoder passwordEncoder) {
+        flyway.clean();
+        flyway.migrate();
+        for (String login : List.of("admin", "user")) {
+            jdbcTemplate.update("INSERT INTO public.dyma_user(login, password, last_name, first_name) VALUES (?, ?, 'Doe', 'John')",
+                    login, passwordEncoder.encode("secret"));
+        }
+        jdbcTemplate.update("INSERT INTO public.dyma_user_role(user_id, role_name) SELECT id, 'ROLE_USER' FROM public.dyma_user");
+        jdbcTemplate.update("INSERT INTO public.dyma_user_role(user_id, role_name) SELECT id, 'ROLE_ADMIN' FROM public.dyma_user WHERE login = 'admin'");
+    }
+
+    @Test
+    public void shouldRecordMatchAndUpdateRanking() {
+        // Given
+        MatchResultToSave match = new MatchResultToSave("FedererTest", "DjokovicTest", PLAYED_ON);
+
+        // When
+        ResponseEntity<MatchResult> response = restTemplate.exchange(url("/matches"), HttpMethod.POST,
+                new HttpEntity<>(match, sessionOf("admin")), MatchResult.class);
+
+        // Then
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody().winnerLastName()).isEqualTo("FedererTest");
+        Assertions.assertThat(response.getBody().ratingChange()).isPositive();
+        Assertions.assertThat(response.getBody().winnerPoints()).isEqualTo(3000 + response.getBody().ratingChange());
+        Assertions.assertThat(response.getBody().loserPoints()).isEqualTo(4000 - response.getBody().ratingChange());
+    }
+
+    @Test
+    public void shouldRecordMatchesInBatch() {
+        // Given
+        List<MatchResultToSave> matches = List.of(
+                new MatchResultToSave("FedererTest", "NadalTest", PLAYED_ON),
+                new MatchResultToSave("DjokovicTest", "NadalTest", PLAYED_ON));
+
+        // When
+        ResponseEntity<List<MatchResult>> response = restTemplate.exchange(url("/matches/batch"), HttpMethod.POST,
+                new HttpEntity<>(matches, sessionOf("admin")), new ParameterizedTypeReference<List<MatchResult>>() {
+                });
+        ResponseEntity<List<Player>> allPlayers = restTemplate.exchange(url("/players"), HttpMethod.GET,
+                new HttpEntity<>(sessionOf("user")), new ParameterizedTypeReference<List<Player>>() {
+                });
+
+        // Then
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(response.getBody())
+                .extracting("winnerLastName", "loserLastName")
+                .containsExactly(Tuple.tuple("FedererTest", "NadalTest"), Tuple.tuple("DjokovicTest", "NadalTest"));
+        Assertions.assertThat(allPlayers.getBody())
+                .extracting("rank.position")
+                .containsExactly(1, 2, 3);
+        Assertions.assertThat(allPlayers.getBody().get(0).rank().points())
+                .isEqualTo(response.getBody().get(1).loserPoints());
+    }
+
+    @Test
+    public void shouldReturn400BadRequest_WhenWinnerIsAlsoLoser() {
+        // Given
+        MatchResultToSave match = new MatchResultToSave("NadalTest", "nadaltest", PLAYED_ON);
+
+        // When
+        ResponseEntity<ErrorResponse> response = restTemplate.exchange(url("/matches"), HttpMethod.POST,
+                new HttpEntity<>(match, sessionOf("admin")), ErrorResponse.class);
+
+        // Then
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Assertions.assertThat(response.getBody().getErrorDetails())
+                .isEqualTo("Match result is not valid, NadalTest cannot be both winner and loser.");
+    }
+
+    @Test
+    public void shouldReturn404NotFound_WhenBatchNamesUnknownPlayer() {
+        // Given
+        List<MatchResultToSave> matches = List.of(
+                new MatchResultToSave("FedererTest", "NadalTest", PLAYED_ON),
+                new MatchResultToSave("DoeTest", "NadalTest", PLAYED_ON));
+
+        // When
+        ResponseEntity<ErrorResponse> response = restTemplate.exchange(url("/matches/batch"), HttpMethod.POST,
+                new HttpEntity<>(matches, sessionOf("admin")), ErrorResponse.class);
+        ResponseEntity<List<Player>> allPlayers = restTemplate.exchange(url("/players"), HttpMethod.GET,
+                new HttpEntity<>(sessionOf("user")), new ParameterizedTypeReference<List<Player>>() {
+                });
+
+        // Then
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        Assertions.assertThat(response.getBody().getErrorDetails()).isEqualTo("Player with last name DoeTest could not be found.");
+        Assertions.assertThat(allPlayers.getBody())
+                .extracting("lastName", "rank.points")
+                .containsExactly(Tuple.tuple("NadalTest", 5000), Tuple.tuple("DjokovicTest", 4000), Tuple.tuple("FedererTest", 3000));
+    }
+
+    @Test
+    public void shouldRefuseMatch_WhenUserIsNotAdmin() {
+        // Given
+        MatchResultToSave match = new MatchResultToSave("FedererTest", "NadalTest", PLAYED_ON);
+
+        // When
+        ResponseEntity<String> single = restTemplate.exchange(url("/matches"), HttpMethod.POST,
+                new HttpEntity<>(match, sessionOf("user")), String.class);
+        ResponseEntity<String> batch = restTemplate.exchange(url("/matches/batch"), HttpMethod.POST,
+                new HttpEntity<>(List.of(match), sessionOf("user")), String.class);
+
+        // Then
+        Assertions.assertThat(single.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        Assertions.assertThat(batch.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+
+    // Connexion par /accounts/login : le cookie de session authentifie les requêtes suivantes
+    private HttpHeaders sessionOf(String login) {
+        ResponseEntity<String> response = restTemplate.postForEntity(url("/accounts/login"), new UserCredentials(login, "secret"), String.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.COOKIE, response.getHeaders().getFirst(HttpHeaders.SET_COOKIE));
+        return headers;
+    }
+}
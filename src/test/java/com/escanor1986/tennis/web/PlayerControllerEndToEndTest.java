@@ -10,6 +10,7 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,11 +18,15 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.PlayerPage;
 import com.escanor1986.tennis.model.PlayerToSave;
+import com.escanor1986.tennis.service.PlayerService;
 
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 @ActiveProfiles("test")
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -71,11 +76,165 @@ public class PlayerControllerEndToEndTest {
 
         // When
         String url = "http://localhost:" + port + "/players";
-        HttpEntity<PlayerToSave> request = new HttpEntity<>(playerToCreate);
-        ResponseEntity<Player> playerResponseEntity = this.restTemplate.exchange(url, HttpMethod.POST, request, Player.class);
+        ResponseEntity<Map<String, String>> response = this.restTemplate.exchange(
+                url,
+                HttpMethod.POST,
+                new HttpEntity<>(playerToCreate),
+                new ParameterizedTypeReference<Map<String, String>>() {
+                }
+        );
+
+        // Then
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Assertions.assertThat(response.getBody()).containsExactly(Map.entry("lastName", "Last name is mandatory"));
+    }
+
+    @Test
+    public void shouldFailToCreatePlayer_WhenLastNameIsReservedPath() {
+        // Given
+        PlayerToSave playerToCreate = new PlayerToSave(
+                "Carlos",
+                "Search",
+                LocalDate.of(2003, Month.MAY, 5),
+                4500
+        );
+
+        // When
+        String url = "http://localhost:" + port + "/players";
+        ResponseEntity<Map<String, String>> response = this.restTemplate.exchange(
+                url,
+                HttpMethod.POST,
+                new HttpEntity<>(playerToCreate),
+                new ParameterizedTypeReference<Map<String, String>>() {
+                }
+        );
+        ResponseEntity<Map<String, String>> batchResponse = this.restTemplate.exchange(
+                url + "/batch",
+                HttpMethod.POST,
+                new HttpEntity<>(List.of(new PlayerToSave("Carlos", "top", LocalDate.of(2003, Month.MAY, 5), 4500))),
+                new ParameterizedTypeReference<Map<String, String>>() {
+                }
+        );
+
+        // Then
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Assertions.assertThat(response.getBody())
+                .containsExactly(Map.entry("lastName", "Last name cannot be top, search or stream, these paths are reserved"));
+        Assertions.assertThat(batchResponse.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Assertions.assertThat(batchResponse.getBody())
+                .containsExactly(Map.entry("[0].lastName", "Last name cannot be top, search or stream, these paths are reserved"));
+    }
+
+    @Test
+    public void shouldCreatePlayersInBatch() {
+        // Given
+        List<PlayerToSave> playersToCreate = List.of(
+                new PlayerToSave("Carlos", "Alcaraz", LocalDate.of(2003, Month.MAY, 5), 4500),
+                new PlayerToSave("Jannik", "Sinner", LocalDate.of(2001, Month.AUGUST, 16), 6000),
+                new PlayerToSave("Casper", "Ruud", LocalDate.of(1998, Month.DECEMBER, 22), 2000)
+        );
+
+        // When
+        String url = "http://localhost:" + port + "/players";
+        ResponseEntity<List<Player>> createdPlayers = this.restTemplate.exchange(
+                url + "/batch",
+                HttpMethod.POST,
+                new HttpEntity<>(playersToCreate),
+                new ParameterizedTypeReference<List<Player>>() {
+                }
+        );
+        ResponseEntity<List<Player>> allPlayers = this.restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<List<Player>>() {
+                }
+        );
 
         // Then
-        Assertions.assertThat(playerResponseEntity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Assertions.assertThat(createdPlayers.getBody())
+                .extracting("lastName", "rank.position")
+                .containsExactly(Tuple.tuple("Alcaraz", 3), Tuple.tuple("Sinner", 1), Tuple.tuple("Ruud", 6));
+        Assertions.assertThat(allPlayers.getBody())
+                .extracting("lastName", "rank.position")
+                .containsExactly(
+                        Tuple.tuple("Sinner", 1),
+                        Tuple.tuple("NadalTest", 2),
+                        Tuple.tuple("Alcaraz", 3),
+                        Tuple.tuple("DjokovicTest", 4),
+                        Tuple.tuple("FedererTest", 5),
+                        Tuple.tuple("Ruud", 6));
+    }
+
+    @Test
+    public void shouldFailToCreatePlayersInBatch_WhenOnePlayerAlreadyExists() {
+        // Given
+        List<PlayerToSave> playersToCreate = List.of(
+                new PlayerToSave("Carlos", "Alcaraz", LocalDate.of(2003, Month.MAY, 5), 4500),
+                new PlayerToSave("Rafael", "nadaltest", LocalDate.of(1986, Month.JUNE, 3), 5000)
+        );
+
+        // When
+        String url = "http://localhost:" + port + "/players";
+        ResponseEntity<String> response = this.restTemplate.exchange(url + "/batch", HttpMethod.POST, new HttpEntity<>(playersToCreate), String.class);
+        ResponseEntity<List<Player>> allPlayers = this.restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<List<Player>>() {
+                }
+        );
+
+        // Then
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Assertions.assertThat(allPlayers.getBody()).extracting("lastName")
+                .containsExactly("NadalTest", "DjokovicTest", "FedererTest");
+    }
+
+    @Test
+    public void shouldFailToCreatePlayersInBatch_WhenOnePlayerIsInvalid() {
+        // Given
+        List<PlayerToSave> playersToCreate = List.of(
+                new PlayerToSave("Carlos", "Alcaraz", LocalDate.of(2003, Month.MAY, 5), 4500),
+                new PlayerToSave("Jannik", null, LocalDate.of(2001, Month.AUGUST, 16), 6000)
+        );
+
+        // When
+        String url = "http://localhost:" + port + "/players/batch";
+        ResponseEntity<Map<String, String>> response = this.restTemplate.exchange(
+                url,
+                HttpMethod.POST,
+                new HttpEntity<>(playersToCreate),
+                new ParameterizedTypeReference<Map<String, String>>() {
+                }
+        );
+
+        // Then
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Assertions.assertThat(response.getBody()).containsExactly(Map.entry("[1].lastName", "Last name is mandatory"));
+    }
+
+    @Test
+    public void shouldFailToCreatePlayersInBatch_WhenBatchIsTooLarge() {
+        // Given
+        List<PlayerToSave> playersToCreate = IntStream.rangeClosed(0, PlayerService.MAX_BATCH_SIZE)
+                .mapToObj(i -> new PlayerToSave("First" + i, "Last" + i, LocalDate.of(2000, Month.JANUARY, 1), 100))
+                .toList();
+
+        // When
+        String url = "http://localhost:" + port + "/players/batch";
+        ResponseEntity<Map<String, String>> response = this.restTemplate.exchange(
+                url,
+                HttpMethod.POST,
+                new HttpEntity<>(playersToCreate),
+                new ParameterizedTypeReference<Map<String, String>>() {
+                }
+        );
+
+        // Then
+        Assertions.assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        Assertions.assertThat(response.getBody())
+                .containsExactly(Map.entry("playersToSave", "A batch cannot contain more than 10000 players"));
     }
 
     @Test
@@ -116,4 +275,44 @@ public class PlayerControllerEndToEndTest {
                 .extracting("lastName", "rank.position")
                 .containsExactly(Tuple.tuple("NadalTest", 1), Tuple.tuple("FedererTest", 2));
     }
+
+    @Test
+    public void shouldListPlayersPageByPage() {
+        // Given
+        String url = "http://localhost:" + port + "/players?limit=2";
+
+        // When
+        ResponseEntity<PlayerPage> firstPage = this.restTemplate.getForEntity(url, PlayerPage.class);
+        ResponseEntity<PlayerPage> secondPage = this.restTemplate.getForEntity(url + "&after=" + firstPage.getBody().nextCursor(), PlayerPage.class);
+
+        // Then
+        Assertions.assertThat(firstPage.getBody().players())
+                .extracting("lastName", "rank.position")
+                .containsExactly(Tuple.tuple("NadalTest", 1), Tuple.tuple("DjokovicTest", 2));
+        Assertions.assertThat(secondPage.getBody().players())
+                .extracting("lastName", "rank.position")
+                .containsExactly(Tuple.tuple("FedererTest", 3));
+        Assertions.assertThat(secondPage.getBody().nextCursor()).isNull();
+    }
+
+    @Test
+    public void shouldAnswerNotModifiedUntilRankingChanges() {
+        // Given
+        String url = "http://localhost:" + port + "/players";
+        String eTag = this.restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+        HttpHeaders conditionalHeaders = new HttpHeaders();
+        conditionalHeaders.setIfNoneMatch(eTag);
+
+        // When
+        ResponseEntity<String> notModified = this.restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(conditionalHeaders), String.class);
+        this.restTemplate.exchange(url, HttpMethod.PUT, new HttpEntity<>(
+                new PlayerToSave("Rafael", "NadalTest", LocalDate.of(1986, Month.JUNE, 3), 1000)), Player.class);
+        ResponseEntity<String> modified = this.restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(conditionalHeaders), String.class);
+
+        // Then
+        Assertions.assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        Assertions.assertThat(notModified.getBody()).isNull();
+        Assertions.assertThat(modified.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(modified.getHeaders().getETag()).isNotEqualTo(eTag);
+    }
 }
@@ -1,30 +1,73 @@
 package com.escanor1986.tennis.web;
 import com.escanor1986.tennis.data.PlayerList;
+import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.Rank;
+import com.escanor1986.tennis.model.RankingChange;
+import com.escanor1986.tennis.model.PlayerPage;
+import com.escanor1986.tennis.service.InvalidPlayerCursorException;
+import com.escanor1986.tennis.service.InvalidPlayerRangeException;
+import com.escanor1986.tennis.service.Leaderboard;
 import com.escanor1986.tennis.service.PlayerNotFoundException;
 import com.escanor1986.tennis.service.PlayerService;
+import com.escanor1986.tennis.service.RankingVersion;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.assertj.core.api.Assertions;
 import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = PlayerController.class)
+@Import({ PlayerListResponseCache.class, SimpleMeterRegistry.class })
 public class PlayerControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private PlayerListResponseCache playerListResponseCache;
+
     @MockitoBean
     private PlayerService playerService;
 
+    @MockitoBean
+    private Leaderboard leaderboard;
+
+    @BeforeEach
+    void stubRankingVersion() {
+        Mockito.when(playerService.getRankingVersion())
+                .thenReturn(new RankingVersion("v-42", Instant.parse("2025-01-15T10:00:00Z")));
+        // Le contexte (et donc le cache) est partagé entre les tests, qui servent tous la version v-42
+        playerListResponseCache.onReset();
+    }
+
     @Test
     public void shouldListAllPlayers() throws Exception {
         // Given
@@ -40,6 +83,149 @@ public class PlayerControllerTest {
                 .andExpect(jsonPath("$[3].lastName", CoreMatchers.is("Murray")));
     }
 
+    @Test
+    public void shouldEncodePlayersOnce_WhileRankingHasNotChanged() throws Exception {
+        // Given
+        Mockito.when(playerService.getAllPlayers()).thenReturn(PlayerList.ALL);
+
+        // When
+        mockMvc.perform(get("/players")).andExpect(status().isOk());
+        mockMvc.perform(get("/players"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)));
+
+        // Then
+        Mockito.verify(playerService, Mockito.times(1)).getAllPlayers();
+    }
+
+    @Test
+    public void shouldEncodePlayersAgain_WhenRankingChanges() throws Exception {
+        // Given
+        Mockito.when(playerService.getAllPlayers()).thenReturn(PlayerList.ALL);
+        mockMvc.perform(get("/players")).andExpect(status().isOk());
+
+        // When
+        playerListResponseCache.onChange(new RankingChange("v-43", List.of(), List.of("Murray")));
+        Mockito.when(playerService.getAllPlayers()).thenReturn(PlayerList.ALL.subList(0, 3));
+
+        // Then
+        mockMvc.perform(get("/players"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)));
+    }
+
+    @Test
+    public void shouldCompressPlayers_WhenClientAcceptsGzip() throws Exception {
+        // Given
+        List<Player> players = IntStream.range(0, 100)
+                .mapToObj(i -> new Player("Player", "Player" + i, LocalDate.of(1990, 1, 1), new Rank(i + 1, 1000 - i)))
+                .toList();
+        Mockito.when(playerService.getAllPlayers()).thenReturn(players);
+
+        // When
+        byte[] body = mockMvc.perform(get("/players").header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v-42-json-gzip\""))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            List<Player> decoded = new ObjectMapper().findAndRegisterModules().readValue(in, new TypeReference<List<Player>>() { });
+            Assertions.assertThat(decoded).containsExactlyElementsOf(players);
+        }
+    }
+
+    @Test
+    public void shouldReturn406NotAcceptable_WhenNoFormatMatchesAcceptHeader() throws Exception {
+        // When / Then
+        mockMvc.perform(get("/players").accept(MediaType.TEXT_PLAIN))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    public void shouldListAllPlayersInCbor_WhenRequestedByAcceptHeader() throws Exception {
+        // Given
+        Mockito.when(playerService.getAllPlayers()).thenReturn(PlayerList.ALL);
+
+        // When
+        byte[] body = mockMvc.perform(get("/players").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().string(HttpHeaders.VARY, CoreMatchers.containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        List<Player> players = new CBORMapper().findAndRegisterModules().readValue(body, new TypeReference<List<Player>>() { });
+        Assertions.assertThat(players).containsExactlyElementsOf(PlayerList.ALL);
+    }
+
+    @Test
+    public void shouldListAllPlayersInBinaryFormat_WhenRequestedByAcceptHeader() throws Exception {
+        // Given
+        Mockito.when(playerService.getAllPlayers()).thenReturn(PlayerList.ALL);
+
+        // When
+        byte[] body = mockMvc.perform(get("/players").accept(PlayerListBinaryHttpMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PlayerListBinaryHttpMessageConverter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        List<Player> players = PlayerListBinaryHttpMessageConverter.read(new ByteArrayInputStream(body));
+        Assertions.assertThat(players).containsExactlyElementsOf(PlayerList.ALL);
+    }
+
+    @Test
+    public void shouldReturn406NotAcceptable_WhenBinaryFormatIsRequestedForASinglePlayer() throws Exception {
+        // Given
+        Mockito.when(playerService.getByLastName("nadal")).thenReturn(PlayerList.RAFAEL_NADAL);
+
+        // When / Then
+        mockMvc.perform(get("/players/nadal").accept(PlayerListBinaryHttpMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    public void shouldReturn304NotModified_WhenRankingHasNotChanged() throws Exception {
+        // Given
+        Mockito.when(playerService.getAllPlayers()).thenReturn(PlayerList.ALL);
+
+        // When / Then
+        mockMvc.perform(get("/players").header(HttpHeaders.IF_NONE_MATCH, "\"v-42-json\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v-42-json\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void shouldNotReuseETagAcrossFormats() throws Exception {
+        // Given
+        Mockito.when(playerService.getAllPlayers()).thenReturn(PlayerList.ALL);
+
+        // When / Then
+        mockMvc.perform(get("/players").accept("application/cbor").header(HttpHeaders.IF_NONE_MATCH, "\"v-42-json\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v-42-cbor\""))
+                .andExpect(content().contentType("application/cbor"));
+    }
+
+    @Test
+    public void shouldReturnRankingVersionHeaders() throws Exception {
+        // Given
+        Mockito.when(playerService.getByLastName("nadal")).thenReturn(PlayerList.RAFAEL_NADAL);
+
+        // When / Then
+        mockMvc.perform(get("/players/nadal").header(HttpHeaders.IF_NONE_MATCH, "\"v-41\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"v-42\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Wed, 15 Jan 2025 10:00:00 GMT"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.lastName", CoreMatchers.is("Nadal")));
+    }
+
     @Test
     public void shouldRetrievePlayer() throws Exception {
         // Given
@@ -64,4 +250,106 @@ public class PlayerControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.errorDetails", CoreMatchers.is("Player with last name doe could not be found.")));
     }
+
+    @Test
+    public void shouldListTopPlayers_WithTenPlayersByDefault() throws Exception {
+        // Given
+        Mockito.when(playerService.getTopPlayers(10)).thenReturn(List.of(PlayerList.RAFAEL_NADAL, PlayerList.NOVAK_DJOKOVIC));
+
+        // When / Then
+        mockMvc.perform(get("/players/top"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"v-42\""))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].lastName", CoreMatchers.is("Nadal")));
+    }
+
+    @Test
+    public void shouldListPlayersByRankRange() throws Exception {
+        // Given
+        Mockito.when(playerService.getPlayersByRank(2, 3, "2,7"))
+                .thenReturn(new PlayerPage(List.of(PlayerList.NOVAK_DJOKOVIC, PlayerList.ROGER_FEDERER), "3,9"));
+
+        // When / Then
+        mockMvc.perform(get("/players").param("fromRank", "2").param("toRank", "3").param("after", "2,7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.players", hasSize(2)))
+                .andExpect(jsonPath("$.players[0].lastName", CoreMatchers.is("Djokovic")))
+                .andExpect(jsonPath("$.nextCursor", CoreMatchers.is("3,9")));
+    }
+
+    @Test
+    public void shouldReturn400BadRequest_WhenPointsRangeIsInverted() throws Exception {
+        // Given
+        Mockito.when(playerService.getPlayersByPoints(5000, 3000, null)).thenThrow(new InvalidPlayerRangeException("points", 5000, 3000));
+
+        // When / Then
+        mockMvc.perform(get("/players").param("minPoints", "5000").param("maxPoints", "3000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorDetails", CoreMatchers.is("Range 5000..3000 on points is not valid, the lower bound must not exceed the upper bound.")));
+    }
+
+    @Test
+    public void shouldReturn400BadRequest_WhenRankRangeIsIncomplete() throws Exception {
+        // Given
+        Mockito.when(playerService.getPlayersByRank(5, null, null)).thenThrow(new InvalidPlayerRangeException("rank"));
+
+        // When / Then
+        mockMvc.perform(get("/players").param("fromRank", "5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorDetails", CoreMatchers.is("Range on rank is not valid, both bounds are required.")));
+        mockMvc.perform(get("/players").param("maxPoints", "100"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorDetails", CoreMatchers.is("Range on points is not valid, both bounds are required.")));
+        Mockito.verify(playerService, Mockito.never()).getAllPlayers();
+    }
+
+    @Test
+    public void shouldSearchPlayersByPrefix() throws Exception {
+        // Given
+        Mockito.when(playerService.searchPlayers("fed", 5)).thenReturn(List.of(PlayerList.ROGER_FEDERER));
+
+        // When / Then
+        mockMvc.perform(get("/players/search").param("prefix", "fed").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].lastName", CoreMatchers.is("Federer")));
+    }
+
+    @Test
+    public void shouldSuggestCloseLastNames_WhenPlayerDoesNotExist() throws Exception {
+        // Given
+        Mockito.when(playerService.getByLastName("djokovich")).thenThrow(new PlayerNotFoundException("djokovich", List.of("Djokovic")));
+
+        // When / Then
+        mockMvc.perform(get("/players/djokovich"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorDetails", CoreMatchers.is("Player with last name djokovich could not be found.")))
+                .andExpect(jsonPath("$.suggestions[0]", CoreMatchers.is("Djokovic")));
+    }
+
+    @Test
+    public void shouldListPlayersPage() throws Exception {
+        // Given
+        Mockito.when(playerService.getPlayersPage(2, "1,1"))
+                .thenReturn(new PlayerPage(List.of(PlayerList.NOVAK_DJOKOVIC, PlayerList.ROGER_FEDERER), "3,3"));
+
+        // When / Then
+        mockMvc.perform(get("/players").param("limit", "2").param("after", "1,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.players", hasSize(2)))
+                .andExpect(jsonPath("$.players[0].lastName", CoreMatchers.is("Djokovic")))
+                .andExpect(jsonPath("$.nextCursor", CoreMatchers.is("3,3")));
+    }
+
+    @Test
+    public void shouldReturn400BadRequest_WhenCursorIsInvalid() throws Exception {
+        // Given
+        Mockito.when(playerService.getPlayersPage(2, "abc")).thenThrow(new InvalidPlayerCursorException("abc"));
+
+        // When / Then
+        mockMvc.perform(get("/players").param("limit", "2").param("after", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorDetails", CoreMatchers.is("Cursor abc is not valid, expected format is rank,id.")));
+    }
 }
@@ -0,0 +1,61 @@
+package com.escanor1986.tennis.web;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.escanor1986.tennis.model.Player;
+import com.escanor1986.tennis.model.Rank;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.List;
+
+public class PlayerListBinaryHttpMessageConverterTest {
+
+    @Test
+    public void shouldDecodeEncodedPlayers_WithNonAsciiNames() throws Exception {
+        // Given
+        List<Player> players = List.of(
+                new Player("Gaël", "Monfils", LocalDate.of(1986, Month.SEPTEMBER, 1), new Rank(1, 2500)),
+                new Player("Stan", "Wawrinka", LocalDate.of(1985, Month.MARCH, 28), new Rank(2, 0)),
+                new Player("Old", "Timer", LocalDate.of(1899, Month.DECEMBER, 31), new Rank(3, -10)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        PlayerListBinaryHttpMessageConverter.write(players, out);
+        List<Player> decoded = PlayerListBinaryHttpMessageConverter.read(new ByteArrayInputStream(out.toByteArray()));
+
+        // Then
+        Assertions.assertThat(decoded).containsExactlyElementsOf(players);
+    }
+
+    @Test
+    public void shouldEncodeEmptyListOnFourBytes() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        PlayerListBinaryHttpMessageConverter.write(List.of(), out);
+
+        // Then
+        Assertions.assertThat(out.toByteArray()).containsExactly(0, 0, 0, 0);
+        Assertions.assertThat(PlayerListBinaryHttpMessageConverter.read(new ByteArrayInputStream(out.toByteArray()))).isEmpty();
+    }
+
+    @Test
+    public void shouldFail_WhenPayloadIsTruncated() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PlayerListBinaryHttpMessageConverter.write(List.of(
+                new Player("Rafael", "Nadal", LocalDate.of(1986, Month.JUNE, 3), new Rank(1, 5000))), out);
+        byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 2);
+
+        // When / Then
+        Assertions.assertThatThrownBy(() -> PlayerListBinaryHttpMessageConverter.read(new ByteArrayInputStream(truncated)))
+                .isInstanceOf(EOFException.class);
+    }
+}
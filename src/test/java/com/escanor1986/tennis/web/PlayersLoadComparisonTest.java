@@ -0,0 +1,106 @@
+package com.escanor1986.tennis.web;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.escanor1986.tennis.TennisApplication;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Comparaison de GET /players entre les threads de plateforme (pool Tomcat) et les threads virtuels
+ * sous 5 000 clients simultanés : débit et latence p99 sont affichés pour chaque mode.
+ *
+ * Test de charge, ignoré par défaut : mvn test -Dtest=PlayersLoadComparisonTest -DloadTest=true
+ */
+@EnabledIfSystemProperty(named = "loadTest", matches = "true")
+public class PlayersLoadComparisonTest {
+
+    private static final int CLIENTS = 5_000;
+    private static final int REQUESTS_PER_CLIENT = 10;
+
+    record LoadResult(String mode, int requests, int errors, double throughput, double p50Ms, double p99Ms) {
+    }
+
+    @Test
+    public void shouldComparePlatformAndVirtualThreads() throws Exception {
+        // Given / When
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        // Then
+        System.out.printf("%-10s %10s %8s %12s %10s %10s%n", "mode", "requests", "errors", "req/s", "p50 (ms)", "p99 (ms)");
+        for (LoadResult result : List.of(platform, virtual)) {
+            System.out.printf("%-10s %10d %8d %12.0f %10.2f %10.2f%n",
+                    result.mode(), result.requests(), result.errors(), result.throughput(), result.p50Ms(), result.p99Ms());
+        }
+        Assertions.assertThat(platform.errors()).isZero();
+        Assertions.assertThat(virtual.errors()).isZero();
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TennisApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.accept-count=" + CLIENTS,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "logging.level.com.escanor1986.tennis=WARN")
+                .run();
+                HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/players")).GET().build();
+            // Chauffe : JIT, classement en mémoire et connexions
+            for (int i = 0; i < 1_000; i++) {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+
+            long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+            AtomicInteger errors = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>(CLIENTS);
+            long start = System.nanoTime();
+            for (int c = 0; c < CLIENTS; c++) {
+                int offset = c * REQUESTS_PER_CLIENT;
+                futures.add(clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        long requestStart = System.nanoTime();
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[offset + r] = System.nanoTime() - requestStart;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            return new LoadResult(virtualThreads ? "virtual" : "platform", latencies.length, errors.get(),
+                    latencies.length / elapsedSeconds,
+                    latencies[latencies.length / 2] / 1e6,
+                    latencies[(int) (latencies.length * 0.99)] / 1e6);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.escanor1986.tennis.web;
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.escanor1986.tennis.model.PlayerToSave;
+import com.escanor1986.tennis.service.PlayerService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class RankingEndpointIntegrationTest {
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private RankingEndpoint rankingEndpoint;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void clearDatabase(@Autowired Flyway flyway) {
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Test
+    public void shouldSummarizeRankingUpdates() {
+        // Given
+        PlayerToSave playerToUpdate = new PlayerToSave(
+                "Rafael",
+                "NadalTest",
+                LocalDate.of(1986, Month.JUNE, 3),
+                1000
+        );
+
+        // When
+        playerService.update(playerToUpdate);
+        playerService.getAllPlayers();
+        RankingEndpoint.RankingReport report = rankingEndpoint.ranking();
+
+        // Then
+        Assertions.assertThat(report.players()).isEqualTo(3.0);
+        Assertions.assertThat(report.load().count()).isEqualTo(1);
+        Assertions.assertThat(report.operations()).containsOnlyKeys("move");
+        Assertions.assertThat(report.operations().get("move").time().count()).isEqualTo(1);
+        Assertions.assertThat(report.operations().get("move").rowsRewritten()).isEqualTo(3.0);
+    }
+
+    @Test
+    public void shouldTimePlayerServiceOperations() {
+        // Given / When
+        playerService.getAllPlayers();
+
+        // Then
+        Assertions.assertThat(meterRegistry.find("tennis.players.operation").tag("method", "getAllPlayers").timer())
+                .isNotNull()
+                .satisfies(timer -> Assertions.assertThat(timer.count()).isEqualTo(1));
+    }
+}
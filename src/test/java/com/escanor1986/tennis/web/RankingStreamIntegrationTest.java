@@ -0,0 +1,135 @@
+package com.escanor1986.tennis.web;
+
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.escanor1986.tennis.model.PlayerToSave;
+import com.escanor1986.tennis.service.PlayerService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "tennis.ranking.stream.max-clients=1")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class RankingStreamIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @Autowired
+    private RankingBroadcaster rankingBroadcaster;
+
+    @BeforeEach
+    void clearDatabase(@Autowired Flyway flyway) {
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    @Test
+    public void shouldSendVersionThenRankingChanges() throws Exception {
+        // Given
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/players/stream")).GET().build();
+        HttpResponse<Stream<String>> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofLines());
+        Iterator<String> lines = response.body().iterator();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            // When
+            String version = dataOf("version", lines);
+            playerService.update(new PlayerToSave("Roger", "FedererTest", LocalDate.of(1981, Month.AUGUST, 8), 6000));
+            String change = dataOf("ranking", lines);
+
+            // Then
+            Assertions.assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                    contentType -> Assertions.assertThat(contentType).startsWith("text/event-stream"));
+            Assertions.assertThat(version).contains("\"eTag\"");
+            Assertions.assertThat(change)
+                    .contains("\"lastName\":\"FedererTest\"")
+                    .contains("\"position\":1")
+                    .contains("\"points\":6000")
+                    .contains("\"removed\":[]");
+        });
+        response.body().close();
+    }
+
+    @Test
+    public void shouldRefuseClient_WhenStreamIsFull() {
+        // Given
+        rankingBroadcaster.subscribe();
+
+        // When
+        Exception exception = assertThrows(RankingStreamCapacityExceededException.class, () -> rankingBroadcaster.subscribe());
+
+        // Then
+        Assertions.assertThat(exception.getMessage()).isEqualTo("Ranking stream is full (1 clients), please retry later.");
+    }
+
+    @Test
+    public void shouldNeverExceedMaxClients_WhenClientsSubscribeConcurrently() throws Exception {
+        // Given
+        int attempts = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger subscribed = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+
+        // When
+        try (ExecutorService clients = Executors.newFixedThreadPool(attempts)) {
+            for (int i = 0; i < attempts; i++) {
+                clients.execute(() -> {
+                    try {
+                        start.await();
+                        rankingBroadcaster.subscribe();
+                        subscribed.incrementAndGet();
+                    } catch (RankingStreamCapacityExceededException e) {
+                        refused.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+        }
+
+        // Then
+        Assertions.assertThat(subscribed).hasValue(1);
+        Assertions.assertThat(refused).hasValue(attempts - 1);
+    }
+
+    // Lit le flux jusqu'à l'événement demandé et retourne ses données
+    private static String dataOf(String event, Iterator<String> lines) {
+        boolean found = false;
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.equals("event:" + event)) {
+                found = true;
+            } else if (found && line.startsWith("data:")) {
+                return line.substring("data:".length());
+            }
+        }
+        throw new IllegalStateException("Stream closed before event " + event);
+    }
+}
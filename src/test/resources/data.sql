@@ -1,8 +0,0 @@
-INSERT INTO player(last_name, first_name, birth_date, points, rank)
-	VALUES ('NadalTest', 'Rafael', '1986-06-03', 5000, 1);
-
-INSERT INTO player(last_name, first_name, birth_date, points, rank)
-    	VALUES ('DjokovicTest', 'Novak', '1987-05-22', 4000, 2);
-
-INSERT INTO player(last_name, first_name, birth_date, points, rank)
-    	VALUES ('FedererTest', 'Roger', '1981-08-08', 3000, 3);